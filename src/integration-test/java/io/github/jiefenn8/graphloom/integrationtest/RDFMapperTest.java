@@ -10,10 +10,15 @@ import io.github.jiefenn8.graphloom.rdf.RDFMapper;
 import io.github.jiefenn8.graphloom.rdf.parser.R2RMLBuilder;
 import io.github.jiefenn8.graphloom.rdf.r2rml.R2RMLMap;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdf.model.Statement;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -45,6 +50,16 @@ public class RDFMapperTest {
         assertThat(result, is(equalTo(3L)));
     }
 
+    @Test
+    public void WhenSourceAndConfigGiven_ShouldPushTriplesToSink() {
+        //Expect 3 Triples from given inputs.
+        List<Statement> statements = new ArrayList<>();
+        rdfMapper.mapToSink(fakeInputDatabase, mapperConfig,
+                (s, p, o) -> statements.add(ResourceFactory.createStatement(s, p, o)));
+        int result = statements.size();
+        assertThat(result, is(equalTo(3)));
+    }
+
     @Test
     public void WhenNoInputSourceGiven_ThenThrowException() {
         String expected = "Cannot retrieve source data from null input source.";
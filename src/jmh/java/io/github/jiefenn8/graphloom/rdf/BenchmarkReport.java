@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Logger of the measurements the benchmarks take beside their score; Such as
+ * the size of the output written or the heap used by an iteration. Logged at info level on its own logger; So
+ * it is reported while the mapper itself logs only warnings.
+ */
+public final class BenchmarkReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkReport.class);
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Collects the garbage on the heap and resets the peak usage of every
+     * heap memory pool; So the next peak only covers what runs after it.
+     */
+    public static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Logs the peak usage of the heap since the last reset; And the heap
+     * still used after collecting the garbage, which is retained by the
+     * result the caller holds on to.
+     *
+     * @param label the name of the measured operation
+     */
+    public static void logHeap(String label) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.gc();
+        long retained = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        LOGGER.info("{}: peak heap {} MB, retained heap {} MB.", label, peak >> 20, retained >> 20);
+    }
+
+    /**
+     * Logs the size of the given output file.
+     *
+     * @param label the name of the output
+     * @param path  the path of the output file
+     * @throws IOException if the size of the file cannot be read
+     */
+    public static void logFileSize(String label, Path path) throws IOException {
+        LOGGER.info("{} size: {} MB.", label, String.format("%.1f", Files.size(path) / 1e6));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityReference;
+import io.github.jiefenn8.graphloom.api.InputSource;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.api.inputsource.EntityResult;
+import io.github.jiefenn8.graphloom.rdf.parser.R2RMLBuilder;
+import io.github.jiefenn8.graphloom.rdf.r2rml.R2RMLMap;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link InputSource} interface generating the rows of an
+ * employee table in memory; So the mapping benchmarks measure the mapper
+ * and its sink instead of a database. Every query returns the same rows.
+ */
+public class BenchmarkSource implements InputSource {
+
+    private static final String[] JOBS = {"CLERK", "SALESMAN", "MANAGER", "ANALYST", "PRESIDENT"};
+    private final int rows;
+
+    /**
+     * Constructs a BenchmarkSource with the specified number of rows to
+     * return from every query.
+     *
+     * @param rows the number of rows in the table
+     */
+    public BenchmarkSource(int rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the mapping of the employee table; One class, two literal and
+     * one IRI property triple per row.
+     *
+     * @return the mapping of the employee table
+     */
+    public static R2RMLMap loadMapping() {
+        return new R2RMLBuilder().parse("r2rml/benchmark_r2rml.ttl");
+    }
+
+    /**
+     * Returns the row of the employee table at the given index.
+     *
+     * @param index the index of the row
+     * @return the row as an entity
+     */
+    public static Entity row(int index) {
+        Map<String, String> row = Map.of(
+                "EMPNO", String.valueOf(index),
+                "ENAME", "EMPLOYEE " + index,
+                "JOB", JOBS[index % JOBS.length],
+                "DEPTNO", String.valueOf(index % 100)
+        );
+        return row::get;
+    }
+
+    @Override
+    public void executeEntityQuery(EntityReference entityRef, Consumer<EntityResult> action) {
+        action.accept(new EntityResult() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < rows;
+            }
+
+            @Override
+            public Entity nextEntity() {
+                return row(index++);
+            }
+        });
+    }
+
+    @Override
+    public long estimateEntityCount(EntityReference entityRef) {
+        return rows;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.ConfigMaps;
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.rdf.r2rml.R2RMLMap;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of mapping a table into a model with
+ * {@link RDFMapper#mapToGraph}, which inserts every triple once into a single
+ * model; Against the copy cascade the mapper ran before triple sinks, which
+ * mapped each triples map into its own model, copied it into a model of the
+ * source and copied that again into the returned model.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapToGraphBenchmark {
+
+    @Param({"250000"})
+    private int rows;
+    private BenchmarkSource source;
+    private R2RMLMap mapping;
+    private Model result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new BenchmarkSource(rows);
+        mapping = BenchmarkSource.loadMapping();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetHeap() {
+        result = null;
+        BenchmarkReport.resetPeakHeap();
+    }
+
+    @TearDown(Level.Iteration)
+    public void logHeap(BenchmarkParams params) {
+        BenchmarkReport.logHeap(params.getBenchmark());
+        result = null;
+    }
+
+    /**
+     * Maps every triples map into the one model returned.
+     */
+    @Benchmark
+    public long singleModel() {
+        result = new RDFMapper().mapToGraph(source, mapping);
+        return result.size();
+    }
+
+    /**
+     * Maps each triples map into its own model; Then copies it into the
+     * model of the source, and that into the model returned.
+     */
+    @Benchmark
+    public long copyCascade() {
+        RDFMapper rdfMapper = new RDFMapper();
+        Model sourceModel = ModelFactory.createDefaultModel();
+        for (EntityMap triplesMap : mapping.getEntityMaps()) {
+            Model entityModel = rdfMapper.mapToGraph(source, singleMap(triplesMap));
+            sourceModel.add(entityModel);
+        }
+        result = ModelFactory.createDefaultModel();
+        result.setNsPrefixes(mapping.getNamespaceMap());
+        result.add(sourceModel);
+        return result.size();
+    }
+
+    /**
+     * Returns the config maps holding only the given triples map.
+     */
+    private ConfigMaps singleMap(EntityMap triplesMap) {
+        return new ConfigMaps() {
+            @Override
+            public Map<String, String> getNamespaceMap() {
+                return mapping.getNamespaceMap();
+            }
+
+            @Override
+            public Set<EntityMap> getEntityMaps() {
+                return Set.of(triplesMap);
+            }
+
+            @Override
+            public Iterator<EntityMap> iterator() {
+                return getEntityMaps().iterator();
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.NodeMap;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of generating the class and base property triples of each row
+ * with a compiled {@link TriplesMapPlan}; Against the per-row loop the
+ * mapper ran before plans, which listed the classes and relation maps, looked
+ * up each node map and checked for reference object maps on every row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TriplesMapPlanBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TriplesMapPlanBenchmark.class);
+    @Param({"100000"})
+    private int rows;
+    private Entity[] entities;
+    private EntityMap triplesMap;
+    private TripleSink tripleSink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        entities = new Entity[rows];
+        for (int i = 0; i < rows; i++) {
+            entities[i] = BenchmarkSource.row(i);
+        }
+        triplesMap = BenchmarkSource.loadMapping().getEntityMaps().iterator().next();
+        tripleSink = (s, p, o) -> blackhole.consume(o);
+    }
+
+    @Benchmark
+    public int compiledPlan() {
+        TriplesMapPlan plan = TriplesMapPlan.compile(triplesMap);
+        int tripleCount = 0;
+        for (Entity entity : entities) {
+            tripleCount += plan.mapBase(entity, tripleSink);
+        }
+        return tripleCount;
+    }
+
+    @Benchmark
+    public int perRowLoop() {
+        int tripleCount = 0;
+        for (Entity e : entities) {
+            Resource subject = triplesMap.generateEntityTerm(e);
+            List<Resource> classes = triplesMap.listEntityClasses();
+            LOGGER.debug("Found {} class to map to entity.", classes.size());
+            int classCount = 0;
+            for (Resource resource : classes) {
+                tripleSink.accept(subject, RDF.type, resource);
+                classCount++;
+            }
+            LOGGER.info("{} class property triples generated.", classCount);
+
+            Set<RelationMap> entityProperties = triplesMap.listRelationMaps();
+            LOGGER.debug("Found a total of {} property to map to entity.", entityProperties.size());
+            int propertyCount = 0;
+            for (RelationMap relationMap : entityProperties) {
+                NodeMap nodeMap = triplesMap.getNodeMapWithRelation(relationMap);
+                if (!(nodeMap instanceof RefObjectMap)) {
+                    RDFNode node = nodeMap.generateNodeTerm(e);
+                    if (node != null) {
+                        tripleSink.accept(subject, relationMap.generateRelationTerm(e), node);
+                        propertyCount++;
+                    }
+                }
+            }
+            LOGGER.info("{} base property triples generated.", propertyCount);
+            tripleCount += classCount + propertyCount;
+        }
+        return tripleCount;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generator of the triples an employee table mapping pushes to its sink;
+ * One class, two literal and one IRI property triple per row. Used by the
+ * sink benchmarks so every sink receives the same triples in the same order.
+ */
+public final class BenchmarkTriples {
+
+    public static final int TRIPLES_PER_ROW = 4;
+    private static final String EX = "http://example.com/ns#";
+    private static final String[] JOBS = {"CLERK", "SALESMAN", "MANAGER", "ANALYST", "PRESIDENT"};
+    private static final Resource EMPLOYEE = ResourceFactory.createResource(EX + "Employee");
+    private static final Property NAME = ResourceFactory.createProperty(EX, "name");
+    private static final Property JOB = ResourceFactory.createProperty(EX, "job");
+    private static final Property DEPARTMENT = ResourceFactory.createProperty(EX, "department");
+
+    private BenchmarkTriples() {
+    }
+
+    /**
+     * Returns a new temporary file with the given suffix to write benchmark
+     * output into; In the directory set by the "graphloom.benchmark.dir"
+     * system property if set. Pointing it at a tmpfs measures the cost of
+     * serialising alone instead of the throughput of the disk.
+     *
+     * @param suffix the suffix of the file name
+     * @return the path of the new file
+     * @throws IOException if the file cannot be created
+     */
+    public static Path createTempFile(String suffix) throws IOException {
+        String directory = System.getProperty("graphloom.benchmark.dir");
+        if (directory == null) {
+            return Files.createTempFile("graphloom-bench", suffix);
+        }
+        return Files.createTempFile(Paths.get(directory), "graphloom-bench", suffix);
+    }
+
+    /**
+     * Returns a new temporary directory to write benchmark output into; In
+     * the directory set by the "graphloom.benchmark.dir" system property if
+     * set.
+     *
+     * @return the path of the new directory
+     * @throws IOException if the directory cannot be created
+     */
+    public static Path createTempDirectory() throws IOException {
+        String directory = System.getProperty("graphloom.benchmark.dir");
+        if (directory == null) {
+            return Files.createTempDirectory("graphloom-bench");
+        }
+        return Files.createTempDirectory(Paths.get(directory), "graphloom-bench");
+    }
+
+    /**
+     * Pushes the triples of the given number of rows to the given sink.
+     *
+     * @param rows       the number of rows to generate triples of
+     * @param tripleSink the sink to receive the triples
+     */
+    public static void generate(int rows, TripleSink tripleSink) {
+        for (int i = 0; i < rows; i++) {
+            Resource subject = ResourceFactory.createResource("http://data.example.com/employee/" + i);
+            tripleSink.accept(subject, RDF.type, EMPLOYEE);
+            tripleSink.accept(subject, NAME, ResourceFactory.createStringLiteral("EMPLOYEE " + i));
+            tripleSink.accept(subject, JOB, ResourceFactory.createStringLiteral(JOBS[i % JOBS.length]));
+            tripleSink.accept(subject, DEPARTMENT,
+                    ResourceFactory.createResource("http://data.example.com/department/" + i % 100));
+        }
+    }
+}
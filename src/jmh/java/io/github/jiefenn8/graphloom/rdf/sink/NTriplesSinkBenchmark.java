@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.rdf.BenchmarkReport;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing a mapped table as N-Triples straight from the
+ * mapping loop with {@link NTriplesSink}; Against populating a model and
+ * serialising it with {@link Model#write(OutputStream, String)}. The output
+ * throughput in MB/s is the size of the file divided by the time per
+ * operation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NTriplesSinkBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = BenchmarkTriples.createTempFile(".nt");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkReport.logFileSize("N-Triples", path);
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Maps the rows straight into a N-Triples file through a file channel.
+     */
+    @Benchmark
+    public void nTriplesSink() throws IOException {
+        try (NTriplesSink sink = NTriplesSink.open(path)) {
+            BenchmarkTriples.generate(rows, sink);
+            sink.finish();
+        }
+    }
+
+    /**
+     * Maps the rows into a model; Then writes the model as N-Triples.
+     */
+    @Benchmark
+    public void modelThenWrite() throws IOException {
+        Model output = ModelFactory.createDefaultModel();
+        BenchmarkTriples.generate(rows, new ModelSink(output));
+        write(output);
+    }
+
+    /**
+     * Writes an already populated model as N-Triples; The serialisation
+     * pass alone.
+     */
+    @Benchmark
+    public void modelWrite(PopulatedModel populatedModel) throws IOException {
+        write(populatedModel.model);
+    }
+
+    private void write(Model output) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            output.write(outputStream, "N-TRIPLE");
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Model already populated with the mapped rows; Only held by the
+     * benchmark writing it so the others run without it on the heap.
+     */
+    @State(Scope.Benchmark)
+    public static class PopulatedModel {
+
+        private Model model;
+
+        @Setup(Level.Trial)
+        public void setUp(NTriplesSinkBenchmark benchmark) {
+            model = ModelFactory.createDefaultModel();
+            BenchmarkTriples.generate(benchmark.rows, new ModelSink(model));
+        }
+    }
+}
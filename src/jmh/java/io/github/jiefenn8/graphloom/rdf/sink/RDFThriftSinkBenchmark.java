@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.rdf.BenchmarkReport;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.thrift.BinRDF;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of encoding a mapped table as RDF Thrift with
+ * {@link RDFThriftSink} against N-Triples with {@link NTriplesSink}; And of
+ * decoding each file back into a stream of triples as a downstream job
+ * reloading the output would.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RDFThriftSinkBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+    private Path thriftPath;
+    private Path nTriplesPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        thriftPath = BenchmarkTriples.createTempFile(".trdf");
+        nTriplesPath = BenchmarkTriples.createTempFile(".nt");
+        thriftEncode();
+        nTriplesEncode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkReport.logFileSize("RDF Thrift", thriftPath);
+        BenchmarkReport.logFileSize("N-Triples", nTriplesPath);
+        Files.deleteIfExists(thriftPath);
+        Files.deleteIfExists(nTriplesPath);
+    }
+
+    @Benchmark
+    public void thriftEncode() throws IOException {
+        try (RDFThriftSink sink = RDFThriftSink.open(thriftPath)) {
+            sink.start(Map.of());
+            BenchmarkTriples.generate(rows, sink);
+            sink.finish();
+        }
+    }
+
+    @Benchmark
+    public void nTriplesEncode() throws IOException {
+        try (NTriplesSink sink = NTriplesSink.open(nTriplesPath)) {
+            BenchmarkTriples.generate(rows, sink);
+            sink.finish();
+        }
+    }
+
+    @Benchmark
+    public long thriftDecode() throws IOException {
+        CountingStream counter = new CountingStream();
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(thriftPath))) {
+            BinRDF.inputStreamToStream(inputStream, counter);
+        }
+        return counter.count;
+    }
+
+    @Benchmark
+    public long nTriplesDecode() throws IOException {
+        CountingStream counter = new CountingStream();
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(nTriplesPath))) {
+            RDFDataMgr.parse(counter, inputStream, Lang.NTRIPLES);
+        }
+        return counter.count;
+    }
+
+    /**
+     * Stream counting the decoded triples without keeping them.
+     */
+    private static class CountingStream extends StreamRDFBase {
+
+        private long count;
+
+        @Override
+        public void triple(Triple triple) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.rdf.BenchmarkSource;
+import io.github.jiefenn8.graphloom.rdf.RDFMapper;
+import io.github.jiefenn8.graphloom.rdf.r2rml.R2RMLMap;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.loader.Loader;
+import org.apache.jena.tdb2.sys.TDBInternal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end benchmark of loading a mapped table into a new TDB2 database
+ * with {@link TDB2Sink}; Against mapping it into a model, writing the model
+ * as N-Triples and bulk loading the file with the TDB2 loader. The loader
+ * of this Jena version only takes the storage of a dataset; So it is
+ * unwrapped from the dataset switching between database versions.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TDB2SinkBenchmark {
+
+    @Param({"250000"})
+    private int rows;
+    private BenchmarkSource source;
+    private R2RMLMap mapping;
+    private Path directory;
+    private Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new BenchmarkSource(rows);
+        mapping = BenchmarkSource.loadMapping();
+    }
+
+    @Setup(Level.Invocation)
+    public void connect() throws IOException {
+        directory = BenchmarkTriples.createTempDirectory();
+        dataset = TDB2Factory.connectDataset(directory.resolve("tdb2").toString());
+    }
+
+    @TearDown(Level.Invocation)
+    public void delete() throws IOException {
+        TDBInternal.expel(dataset.asDatasetGraph());
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach((p) -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * Maps the table straight into the database.
+     */
+    @Benchmark
+    public void tdb2Sink() {
+        new RDFMapper().mapToSink(source, mapping, new TDB2Sink(dataset, TDB2Sink.DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Maps the table into a model, writes it as N-Triples; Then bulk loads
+     * the file into the database.
+     */
+    @Benchmark
+    public void mapThenLoad() throws IOException {
+        Model model = new RDFMapper().mapToGraph(source, mapping);
+        Path file = directory.resolve("mapped.nt");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            model.write(outputStream, "N-TRIPLE");
+        }
+        Loader.bulkLoad(DatasetFactory.wrap(TDBInternal.getDatasetGraphTDB(dataset)), file.toString());
+    }
+}
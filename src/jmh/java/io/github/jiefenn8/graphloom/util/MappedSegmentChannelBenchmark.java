@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.util;
+
+import io.github.jiefenn8.graphloom.rdf.BenchmarkReport;
+import io.github.jiefenn8.graphloom.rdf.sink.BenchmarkTriples;
+import io.github.jiefenn8.graphloom.rdf.sink.NTriplesSink;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing a mapped table as N-Triples through a
+ * {@link MappedSegmentChannel}; Against the buffered file channel path of
+ * {@link NTriplesSink#open(Path)}. Each output size is run with both
+ * channels to show from which size mapped segments pay off.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedSegmentChannelBenchmark {
+
+    @Param({"10000", "100000", "1000000", "3000000"})
+    private int rows;
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = BenchmarkTriples.createTempFile(".nt");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkReport.logFileSize("N-Triples", path);
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public void mappedSegments() throws IOException {
+        try (NTriplesSink sink = new NTriplesSink(MappedSegmentChannel.open(path))) {
+            BenchmarkTriples.generate(rows, sink);
+            sink.finish();
+        }
+    }
+
+    @Benchmark
+    public void fileChannel() throws IOException {
+        FileChannel fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try (NTriplesSink sink = new NTriplesSink(fileChannel)) {
+            BenchmarkTriples.generate(rows, sink);
+            sink.finish();
+        }
+    }
+}
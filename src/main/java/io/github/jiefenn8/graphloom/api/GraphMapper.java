@@ -5,8 +5,11 @@
 
 package io.github.jiefenn8.graphloom.api;
 
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 
+import java.util.concurrent.Flow;
+
 /**
  * This interface defines the base methods that manages the mapping
  * of a input source using provided mapping configurations.
@@ -24,4 +27,30 @@ public interface GraphMapper {
      * @return the model containing the mapped source as a graph model
      */
     Model mapToGraph(InputSource inputSource, ConfigMaps configMaps);
+
+    /**
+     * Maps the input source applied to the config mappings given and pushes
+     * each generated triple to the given sink as soon as it is mapped. Unlike
+     * {@link #mapToGraph(InputSource, ConfigMaps)}, no triple is retained
+     * by the mapper after it has been handed over to the sink.
+     *
+     * @param inputSource the source containing the data to map over to graph
+     * @param configMaps  the configs to manage the mapping of data
+     * @param tripleSink  the sink to receive every triple generated
+     */
+    void mapToSink(InputSource inputSource, ConfigMaps configMaps, TripleSink tripleSink);
+
+    /**
+     * Returns a publisher that maps the input source applied to the config
+     * mappings given for each of its subscribers. Entities are only retrieved
+     * from the source as fast as the subscriber requests more triples.
+     *
+     * @param inputSource the source containing the data to map over to graph
+     * @param configMaps  the configs to manage the mapping of data
+     * @return the publisher of the mapped triples
+     * @see TriplePublisher
+     */
+    default Flow.Publisher<Triple> mapToPublisher(InputSource inputSource, ConfigMaps configMaps) {
+        return new TriplePublisher(this, inputSource, configMaps);
+    }
 }
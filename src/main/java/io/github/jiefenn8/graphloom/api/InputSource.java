@@ -23,4 +23,17 @@ public interface InputSource {
      * @param action    the action to apply to the results
      */
     void executeEntityQuery(EntityReference entityRef, Consumer<EntityResult> action);
+
+    /**
+     * Returns the estimated number of entities the reference or query in
+     * {@link EntityReference} retrieves; Such as the row count statistics of
+     * a table kept by a database. The estimate is only used to schedule the
+     * largest queries first; So it does not need to be exact.
+     *
+     * @param entityRef the reference or query to estimate
+     * @return the estimated number of entities, or -1 if unknown
+     */
+    default long estimateEntityCount(EntityReference entityRef) {
+        return -1;
+    }
 }
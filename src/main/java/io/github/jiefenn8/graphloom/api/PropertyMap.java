@@ -10,6 +10,7 @@ import io.github.jiefenn8.graphloom.util.UniqueId;
 import org.apache.jena.rdf.model.Resource;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * This interface defines the base methods that manages the mapping
@@ -22,7 +23,8 @@ public interface PropertyMap extends UniqueId {
      * retrieve any data needed.
      *
      * @param entity containing any data needed to generate term
-     * @return the URI generated by this property map
+     * @return the URI generated by this property map; Or null if the entity
+     * has no value to generate it from
      */
     Resource generateEntityTerm(Entity entity);
 
@@ -33,4 +35,16 @@ public interface PropertyMap extends UniqueId {
      * @return the list with all class associated to entity as URIs
      */
     List<Resource> listEntityClasses();
+
+    /**
+     * Returns the names of all entity properties this map reads to generate
+     * its terms. Maps that cannot list them return the unknown marker of
+     * {@link ReferencedProperties}; So every property of the entity is kept.
+     *
+     * @return the set of entity property names read by this map, or
+     * {@link ReferencedProperties#UNKNOWN} if not known
+     */
+    default Set<String> listReferencedProperties() {
+        return ReferencedProperties.UNKNOWN;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.api;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class defines the marker returned by maps that cannot list the entity
+ * properties they read; And the methods to combine the listed properties of
+ * several maps without losing the marker.
+ */
+public final class ReferencedProperties {
+
+    /**
+     * Marker for an unknown set of entity properties. It is compared by
+     * identity; So an empty set listed by a map reading no properties is
+     * never mistaken for it.
+     */
+    public static final Set<String> UNKNOWN = Collections.unmodifiableSet(new HashSet<>());
+
+    private ReferencedProperties() {
+    }
+
+    /**
+     * Returns true if the given set of entity properties is the unknown
+     * marker. Otherwise, false.
+     *
+     * @param properties the set of entity properties to check
+     * @return true if the set of entity properties is unknown
+     */
+    public static boolean isUnknown(Set<String> properties) {
+        return properties == UNKNOWN;
+    }
+
+    /**
+     * Returns the union of the given sets of entity properties; Or the
+     * unknown marker if any of them is unknown.
+     *
+     * @param first the first set of entity properties
+     * @param other the other sets of entity properties
+     * @return the union of the sets, or the unknown marker
+     */
+    @SafeVarargs
+    public static Set<String> union(Set<String> first, Set<String>... other) {
+        if (isUnknown(first)) {
+            return UNKNOWN;
+        }
+        Set<String> properties = new HashSet<>(first);
+        for (Set<String> set : other) {
+            if (isUnknown(set)) {
+                return UNKNOWN;
+            }
+            properties.addAll(set);
+        }
+        return properties;
+    }
+}
@@ -9,6 +9,8 @@ import io.github.jiefenn8.graphloom.api.inputsource.Entity;
 import io.github.jiefenn8.graphloom.util.UniqueId;
 import org.apache.jena.rdf.model.Property;
 
+import java.util.Set;
+
 /**
  * This interface defines the base methods that manages the mapping
  * of relation to their graph relation term.
@@ -23,4 +25,16 @@ public interface RelationMap extends UniqueId {
      * @return the URI generated by this relation map
      */
     Property generateRelationTerm(Entity entity);
+
+    /**
+     * Returns the names of all entity properties this map reads to generate
+     * its terms. Maps that cannot list them return the unknown marker of
+     * {@link ReferencedProperties}; So every property of the entity is kept.
+     *
+     * @return the set of entity property names read by this map, or
+     * {@link ReferencedProperties#UNKNOWN} if not known
+     */
+    default Set<String> listReferencedProperties() {
+        return ReferencedProperties.UNKNOWN;
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.api;
+
+import io.github.jiefenn8.graphloom.exceptions.MappingCancelledException;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of {@link Flow.Publisher} that publishes the triples
+ * generated by a {@link GraphMapper} with backpressure. Each subscription
+ * runs its own mapping of the input source on the given executor; And the
+ * mapping is paused whenever the subscriber has no outstanding demand. As
+ * the triples are generated while iterating the entity results, a slow
+ * subscriber throttles the retrieval of entities from the source instead
+ * of them being buffered.
+ */
+public class TriplePublisher implements Flow.Publisher<Triple> {
+
+    private final GraphMapper graphMapper;
+    private final InputSource inputSource;
+    private final ConfigMaps configMaps;
+    private final Executor executor;
+
+    /**
+     * Constructs a TriplePublisher with the specified mapper, input source
+     * and config mappings. Each subscription is mapped on its own thread.
+     *
+     * @param graphMapper the mapper to generate the triples with
+     * @param inputSource the source containing the data to map over to graph
+     * @param configMaps  the configs to manage the mapping of data
+     */
+    public TriplePublisher(GraphMapper graphMapper, InputSource inputSource, ConfigMaps configMaps) {
+        this(graphMapper, inputSource, configMaps, (r) -> {
+            Thread thread = new Thread(r, "graphloom-publisher");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Constructs a TriplePublisher with the specified mapper, input source,
+     * config mappings and the executor to run each subscription mapping on.
+     *
+     * @param graphMapper the mapper to generate the triples with
+     * @param inputSource the source containing the data to map over to graph
+     * @param configMaps  the configs to manage the mapping of data
+     * @param executor    the executor to run the mappings on
+     */
+    public TriplePublisher(GraphMapper graphMapper, InputSource inputSource, ConfigMaps configMaps, Executor executor) {
+        this.graphMapper = Objects.requireNonNull(graphMapper, "Graph mapper must not be null.");
+        this.inputSource = Objects.requireNonNull(inputSource, "Input source must not be null.");
+        this.configMaps = Objects.requireNonNull(configMaps, "Config maps must not be null.");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null.");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Triple> subscriber) {
+        Objects.requireNonNull(subscriber);
+        MappingSubscription subscription = new MappingSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription);
+        } catch (RejectedExecutionException e) {
+            subscription.cancel();
+            subscriber.onError(e);
+        }
+    }
+
+    /**
+     * Subscription that runs the mapping into itself as a {@link TripleSink};
+     * Blocking the mapping thread until the subscriber has demand for the
+     * next triple.
+     */
+    private class MappingSubscription implements Flow.Subscription, TripleSink, Runnable {
+
+        private final Flow.Subscriber<? super Triple> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demandChanged = lock.newCondition();
+        private long demand;
+        private boolean cancelled;
+        private Throwable pendingError;
+
+        private MappingSubscription(Flow.Subscriber<? super Triple> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    pendingError = new IllegalArgumentException("Requested demand must be positive.");
+                    cancelled = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                demandChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                demandChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void accept(Resource subject, Property predicate, RDFNode object) {
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled) {
+                    demandChanged.await();
+                }
+                if (cancelled) {
+                    throw new MappingCancelledException("Subscription was cancelled.");
+                }
+                demand--;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+                throw new MappingCancelledException("Interrupted while waiting for demand.");
+            } finally {
+                lock.unlock();
+            }
+            subscriber.onNext(Triple.create(subject.asNode(), predicate.asNode(), object.asNode()));
+        }
+
+        @Override
+        public void run() {
+            Throwable error = null;
+            try {
+                if (!isCancelled()) {
+                    graphMapper.mapToSink(inputSource, configMaps, this);
+                }
+            } catch (MappingCancelledException e) {
+                //Mapping stopped early due to cancellation.
+            } catch (RuntimeException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (pendingError != null) {
+                    error = pendingError;
+                } else if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            } finally {
+                lock.unlock();
+            }
+
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private boolean isCancelled() {
+            lock.lock();
+            try {
+                return cancelled;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.api;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.Map;
+
+/**
+ * This interface defines the base methods that receives each graph term
+ * generated by a {@link GraphMapper} as soon as it is mapped. Implementations
+ * of this interface should handle each term as it arrives; And avoid holding
+ * the whole mapped graph in memory unless it is the intended output.
+ */
+public interface TripleSink {
+
+    /**
+     * Signals the start of the mapping process with the namespace prefixes
+     * declared in the configuration mappings.
+     *
+     * @param nsPrefixMap the map containing all namespace prefixes and their URIs
+     */
+    default void start(Map<String, String> nsPrefixMap) {
+    }
+
+    /**
+     * Receives a triple generated from mapping an entity.
+     *
+     * @param subject   the subject term of the triple
+     * @param predicate the predicate term of the triple
+     * @param object    the object term of the triple
+     */
+    void accept(Resource subject, Property predicate, RDFNode object);
+
+    /**
+     * Signals the end of the mapping process. No more triples will be
+     * received after this call.
+     */
+    default void finish() {
+    }
+
+    /**
+     * Signals the mapping process failed before it could finish. No more
+     * triples will be received after this call; So any output left open or
+     * uncommitted by the incomplete mapping should be discarded or released.
+     */
+    default void abort() {
+    }
+}
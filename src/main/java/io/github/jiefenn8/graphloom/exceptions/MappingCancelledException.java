@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown by a triple sink to stop a mapping early once its
+ * consumer no longer wants the triples, extending from
+ * {@link MapperException}. The mapper aborts the sink without reporting the
+ * mapping as failed.
+ */
+public class MappingCancelledException extends MapperException {
+
+    @Serial private static final long serialVersionUID = 3527036940913815514L;
+
+    /**
+     * Constructs a mapping cancelled exception with the specified detail
+     * message.
+     *
+     * @param message the message the exception will contain
+     */
+    public MappingCancelledException(String message) {
+        super(message);
+    }
+}
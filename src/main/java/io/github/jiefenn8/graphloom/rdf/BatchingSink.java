@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.Objects;
+
+/**
+ * Implementation of {@link TripleSink} interface that collects triples from a
+ * single mapping thread into a fixed size batch; And hands each full batch
+ * over to a shared sink while holding its monitor. This lets many mapping
+ * threads share a sink that is not thread-safe while only contending for it
+ * once per batch instead of once per triple.
+ */
+class BatchingSink implements TripleSink {
+
+    protected static final int DEFAULT_BATCH_SIZE = 1024;
+    private final TripleSink target;
+    private final Resource[] subjects;
+    private final Property[] predicates;
+    private final RDFNode[] objects;
+    private int size;
+
+    /**
+     * Constructs a BatchingSink with the specified shared sink to hand the
+     * batches over to and the number of triples in each batch.
+     *
+     * @param target    the shared sink to receive the batches
+     * @param batchSize the number of triples in each batch
+     */
+    BatchingSink(TripleSink target, int batchSize) {
+        this.target = Objects.requireNonNull(target);
+        subjects = new Resource[batchSize];
+        predicates = new Property[batchSize];
+        objects = new RDFNode[batchSize];
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        subjects[size] = subject;
+        predicates[size] = predicate;
+        objects[size] = object;
+        if (++size == subjects.length) {
+            flush();
+        }
+    }
+
+    @Override
+    public void finish() {
+        flush();
+    }
+
+    /**
+     * Hands every triple in the current batch over to the shared sink.
+     */
+    void flush() {
+        if (size == 0) {
+            return;
+        }
+        synchronized (target) {
+            for (int i = 0; i < size; i++) {
+                target.accept(subjects[i], predicates[i], objects[i]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            subjects[i] = null;
+            predicates[i] = null;
+            objects[i] = null;
+        }
+        size = 0;
+    }
+}
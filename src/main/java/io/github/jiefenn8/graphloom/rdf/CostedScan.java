@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * This class defines a scan with the estimated number of entities it reads;
+ * So the longest scans can be started first.
+ */
+final class CostedScan implements ToLongFunction<TripleSink> {
+
+    private final long cost;
+    private final ToLongFunction<TripleSink> scan;
+
+    /**
+     * Constructs a CostedScan with the specified estimated number of entities
+     * read by the given scan.
+     *
+     * @param cost the estimated number of entities read
+     * @param scan the scan returning the number of triples generated
+     */
+    CostedScan(long cost, ToLongFunction<TripleSink> scan) {
+        this.cost = cost;
+        this.scan = scan;
+    }
+
+    /**
+     * Returns the estimated number of entities read by the given scan; Or
+     * zero if the scan has no estimate.
+     *
+     * @param scan the scan to get the cost of
+     * @return the estimated number of entities read
+     */
+    static long costOf(ToLongFunction<TripleSink> scan) {
+        return scan instanceof CostedScan ? ((CostedScan) scan).cost : 0;
+    }
+
+    @Override
+    public long applyAsLong(TripleSink tripleSink) {
+        return scan.applyAsLong(tripleSink);
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.InputSource;
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.slf4j.MDC;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * This class defines a single scan mapped as three overlapping stages joined
+ * by bounded queues. The fetch stage runs on the calling thread inside
+ * {@link SourceMap#forEachEntity}; And copies the referenced properties of
+ * each entity into batches, so the source is free to reuse its entity once
+ * the callback returns. The generate stage turns the batches into triples on
+ * its own threads; And the output stage pushes the triples to the sink on a
+ * single thread, so the sink never needs to be thread-safe.
+ */
+class EntityPipeline {
+
+    private static final int ROW_BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+    private static final AtomicInteger PIPELINE_COUNT = new AtomicInteger();
+    private static final List<Entity> END_OF_ROWS = Collections.unmodifiableList(new ArrayList<>());
+    private static final TripleBatch END_OF_TRIPLES = new TripleBatch();
+    private final int generatorCount;
+    private final int queueCapacity;
+    private final BlockingQueue<List<Entity>> rowQueue;
+    private final BlockingQueue<TripleBatch> tripleQueue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong fetchStall = new AtomicLong();
+    private final AtomicLong generateInputStall = new AtomicLong();
+    private final AtomicLong generateOutputStall = new AtomicLong();
+    private final AtomicLong outputStall = new AtomicLong();
+    private final AtomicInteger maxRowQueueDepth = new AtomicInteger();
+    private final AtomicInteger maxTripleQueueDepth = new AtomicInteger();
+    private final AtomicLong tripleCount = new AtomicLong();
+
+    /**
+     * Constructs a EntityPipeline with the specified number of generate stage
+     * threads and the capacity of each queue between the stages.
+     *
+     * @param generatorCount the number of threads generating triples
+     * @param queueCapacity  the number of batches each queue can hold
+     */
+    EntityPipeline(int generatorCount, int queueCapacity) {
+        this.generatorCount = generatorCount;
+        this.queueCapacity = queueCapacity;
+        rowQueue = new ArrayBlockingQueue<>(queueCapacity);
+        tripleQueue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Returns the metrics of scanning the given source map through this
+     * pipeline; Generating triples from each entity with the given generator
+     * and pushing them to the given sink. A pipeline can only run once. The
+     * entity properties read by the generator must be known, as only those
+     * are copied before the source moves past the entity.
+     *
+     * @param triplesMapId the id of the triples map being scanned
+     * @param sourceMap    the logical table or partition to scan
+     * @param source       the source to map into RDF triples
+     * @param properties   the entity properties read by the generator
+     * @param generator    the function generating triples from an entity
+     * @param tripleSink   the sink to receive the generated triples
+     * @return the metrics of the scan
+     */
+    PipelineMetrics run(String triplesMapId, SourceMap sourceMap, InputSource source, Set<String> properties,
+                        ToIntBiFunction<Entity, TripleSink> generator, TripleSink tripleSink) {
+        if (ReferencedProperties.isUnknown(properties)) {
+            throw new MapperException("Pipeline requires every map of '" + triplesMapId
+                    + "' to list its referenced properties.");
+        }
+        String prefix = "graphloom-pipeline-" + PIPELINE_COUNT.incrementAndGet() + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(generatorCount + 1, (r) -> {
+            Thread thread = new Thread(r, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        try {
+            List<Future<?>> stages = new ArrayList<>();
+            for (int i = 0; i < generatorCount; i++) {
+                stages.add(executorService.submit(() -> withContext(context, () -> generate(generator))));
+            }
+            stages.add(executorService.submit(() -> withContext(context, () -> output(tripleSink))));
+
+            long rowCount = fetch(sourceMap, source, properties);
+            for (Future<?> stage : stages) {
+                await(stage);
+            }
+            rethrowFailure();
+            return new PipelineMetrics.Builder(triplesMapId)
+                    .withCounts(rowCount, tripleCount.get())
+                    .withQueueDepths(maxRowQueueDepth.get(), maxTripleQueueDepth.get())
+                    .withStalls(fetchStall.get(), generateInputStall.get(),
+                            generateOutputStall.get(), outputStall.get())
+                    .build();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given stage with the logging context of the thread that
+     * started this pipeline.
+     */
+    private void withContext(Map<String, String> context, Runnable stage) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        try {
+            stage.run();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entities read from the source after copying them
+     * into batches on the row queue. The failure of any other stage is
+     * checked after each batch; So the scan stops before reading the next
+     * rows instead of once the row queue is full.
+     */
+    private long fetch(SourceMap sourceMap, InputSource source, Set<String> properties) {
+        String[] names = properties.toArray(new String[0]);
+        List<List<Entity>> batch = new ArrayList<>(1);
+        batch.add(new ArrayList<>(ROW_BATCH_SIZE));
+        AtomicLong rowCount = new AtomicLong();
+        try {
+            sourceMap.forEachEntity(source, (e) -> {
+                List<Entity> rows = batch.get(0);
+                rows.add(SnapshotEntity.copyOf(e, names));
+                if (rows.size() == ROW_BATCH_SIZE) {
+                    offer(rowQueue, rows, fetchStall, maxRowQueueDepth);
+                    batch.set(0, new ArrayList<>(ROW_BATCH_SIZE));
+                    rethrowFailure();
+                }
+                rowCount.incrementAndGet();
+            });
+            if (!batch.get(0).isEmpty()) {
+                offer(rowQueue, batch.get(0), fetchStall, maxRowQueueDepth);
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        for (int i = 0; i < generatorCount && failure.get() == null; i++) {
+            offer(rowQueue, END_OF_ROWS, fetchStall, maxRowQueueDepth);
+        }
+        return rowCount.get();
+    }
+
+    /**
+     * Generates the triples of every row batch taken from the row queue into
+     * triple batches on the triple queue until the end of rows is reached.
+     */
+    private void generate(ToIntBiFunction<Entity, TripleSink> generator) {
+        try {
+            List<Entity> rows;
+            while ((rows = poll(rowQueue, generateInputStall)) != END_OF_ROWS) {
+                TripleBatch triples = new TripleBatch();
+                for (Entity row : rows) {
+                    generator.applyAsInt(row, triples);
+                }
+                offer(tripleQueue, triples, generateOutputStall, maxTripleQueueDepth);
+            }
+            offer(tripleQueue, END_OF_TRIPLES, generateOutputStall, maxTripleQueueDepth);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Pushes every triple batch taken from the triple queue to the sink until
+     * the end of triples is reached by every generate stage thread.
+     */
+    private void output(TripleSink tripleSink) {
+        try {
+            int finished = 0;
+            while (finished < generatorCount) {
+                TripleBatch triples = poll(tripleQueue, outputStall);
+                if (triples == END_OF_TRIPLES) {
+                    finished++;
+                } else {
+                    tripleCount.addAndGet(triples.drainTo(tripleSink));
+                }
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Puts the given item on the queue; Adding the time spent waiting on a
+     * full queue to the given stall counter.
+     */
+    private <T> void offer(BlockingQueue<T> queue, T item, AtomicLong stall, AtomicInteger maxDepth) {
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        if (queue.offer(item)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                rethrowFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting on pipeline queue.", e);
+        } finally {
+            stall.addAndGet(System.nanoTime() - start);
+        }
+        maxDepth.accumulateAndGet(queueCapacity, Math::max);
+    }
+
+    /**
+     * Returns the next item taken from the queue; Adding the time spent
+     * waiting on an empty queue to the given stall counter.
+     */
+    private <T> T poll(BlockingQueue<T> queue, AtomicLong stall) {
+        T item = queue.poll();
+        if (item != null) {
+            return item;
+        }
+        long start = System.nanoTime();
+        try {
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                rethrowFailure();
+            }
+            return item;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting on pipeline queue.", e);
+        } finally {
+            stall.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Waits for the given stage to complete.
+     */
+    private void await(Future<?> stage) {
+        try {
+            stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting on pipeline stage.", e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        }
+    }
+
+    /**
+     * Rethrows the first failure of any stage in this pipeline.
+     */
+    private void rethrowFailure() {
+        Throwable cause = failure.get();
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw new MapperException("Pipeline stage failed.", cause);
+    }
+
+    /**
+     * Implementation of {@link Entity} interface holding a copy of the
+     * referenced property values of another entity.
+     */
+    static class SnapshotEntity implements Entity {
+
+        private final Map<String, String> values;
+
+        private SnapshotEntity(Map<String, String> values) {
+            this.values = values;
+        }
+
+        /**
+         * Returns a snapshot of the given property values of the entity.
+         *
+         * @param entity the entity to copy the values from
+         * @param names  the names of the properties to copy
+         * @return the snapshot of the entity
+         */
+        static SnapshotEntity copyOf(Entity entity, String[] names) {
+            Map<String, String> values = new HashMap<>(names.length * 2);
+            for (String name : names) {
+                values.put(name, entity.getPropertyValue(name));
+            }
+            return new SnapshotEntity(values);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Only the copied properties can be read; So a map reading a property
+         * it did not list fails instead of generating a term from null.
+         */
+        @Override
+        public String getPropertyValue(String name) {
+            if (!values.containsKey(name)) {
+                throw new MapperException("Property '" + name + "' was not listed by its map.");
+            }
+            return values.get(name);
+        }
+    }
+
+    /**
+     * Implementation of {@link TripleSink} interface that collects the
+     * triples generated from a row batch until the output stage drains them.
+     */
+    private static class TripleBatch implements TripleSink {
+
+        private final List<Resource> subjects = new ArrayList<>();
+        private final List<Property> predicates = new ArrayList<>();
+        private final List<RDFNode> objects = new ArrayList<>();
+
+        @Override
+        public void accept(Resource subject, Property predicate, RDFNode object) {
+            subjects.add(subject);
+            predicates.add(predicate);
+            objects.add(object);
+        }
+
+        /**
+         * Returns the number of triples in this batch after pushing each of
+         * them to the given sink.
+         */
+        private int drainTo(TripleSink tripleSink) {
+            for (int i = 0; i < subjects.size(); i++) {
+                tripleSink.accept(subjects.get(i), predicates.get(i), objects.get(i));
+            }
+            return subjects.size();
+        }
+    }
+}
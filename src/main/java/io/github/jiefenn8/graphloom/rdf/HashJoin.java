@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.NodeMap;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * This class defines the client-side hash join of every reference object map
+ * with join conditions among groups of entity mappings sharing a scan. The
+ * parent join keys of a reference object map are collected into a
+ * {@link ParentKeyIndex} during the base scan of the parent group; And probed
+ * during the base scan of the child group. So the groups are ordered into
+ * waves where every parent group is scanned in an earlier wave than its child
+ * groups. A reference object map whose parent cannot be scanned first, such
+ * as a self or cyclic reference, has its index filled by a separate key scan
+ * of the parent logical table before the first wave. So does a parent
+ * wrapped in a watermark, which is never found among the groups; Its base
+ * scan only reads the rows past the watermark, while its children must join
+ * against every row of the parent logical table.
+ */
+final class HashJoin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashJoin.class);
+    private final Map<RefObjectMap, ParentKeyIndex> indexes = new IdentityHashMap<>();
+    private final Map<List<EntityMap>, List<ParentKeyIndex>> collectors = new IdentityHashMap<>();
+    private final TriplesMapGraph graph = new TriplesMapGraph();
+    private final Map<ParentKeyIndex, SourceMap> keyScans = new LinkedHashMap<>();
+    private final List<List<List<EntityMap>>> waves = new ArrayList<>();
+
+    /**
+     * Constructs a HashJoin with the specified groups of entity mappings
+     * sharing a scan.
+     *
+     * @param groups the groups of entity mappings to join
+     */
+    HashJoin(Collection<List<EntityMap>> groups) {
+        Map<EntityMap, List<EntityMap>> groupOf = new IdentityHashMap<>();
+        for (List<EntityMap> group : groups) {
+            for (EntityMap triplesMap : group) {
+                groupOf.put(triplesMap, group);
+            }
+        }
+
+        Map<List<EntityMap>, Map<RefObjectMap, List<EntityMap>>> parentsOf = new IdentityHashMap<>();
+        for (List<EntityMap> group : groups) {
+            Map<RefObjectMap, List<EntityMap>> parents = new LinkedHashMap<>();
+            for (EntityMap triplesMap : group) {
+                for (RelationMap relationMap : triplesMap.listRelationMaps()) {
+                    NodeMap nodeMap = triplesMap.getNodeMapWithRelation(relationMap);
+                    if (nodeMap instanceof RefObjectMap && ((RefObjectMap) nodeMap).hasJoinCondition()) {
+                        RefObjectMap refObjectMap = (RefObjectMap) nodeMap;
+                        indexes.put(refObjectMap, new ParentKeyIndex(refObjectMap.listJoinConditions()));
+                        parents.put(refObjectMap, groupOf.get(refObjectMap.getParentTriplesMap()));
+                    }
+                }
+            }
+            parentsOf.put(group, parents);
+            collectors.put(group, new ArrayList<>());
+            graph.addGroup(group);
+        }
+        orderWaves(groups, parentsOf);
+    }
+
+    /**
+     * Orders the given groups into waves where each group comes after the
+     * groups of its parents; And sets up where each index is collected.
+     */
+    private void orderWaves(Collection<List<EntityMap>> groups,
+                            Map<List<EntityMap>, Map<RefObjectMap, List<EntityMap>>> parentsOf) {
+        Set<List<EntityMap>> done = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<List<EntityMap>> remaining = new ArrayList<>(groups);
+        while (!remaining.isEmpty()) {
+            List<List<EntityMap>> wave = new ArrayList<>();
+            for (List<EntityMap> group : remaining) {
+                if (isReady(group, parentsOf.get(group).values(), done)) {
+                    wave.add(group);
+                }
+            }
+            if (wave.isEmpty()) {
+                wave.addAll(remaining);
+            }
+            for (List<EntityMap> group : wave) {
+                for (Map.Entry<RefObjectMap, List<EntityMap>> parent : parentsOf.get(group).entrySet()) {
+                    ParentKeyIndex index = indexes.get(parent.getKey());
+                    if (parent.getValue() != null && done.contains(parent.getValue())) {
+                        collectors.get(parent.getValue()).add(index);
+                        graph.addDependency(group, parent.getValue());
+                    } else {
+                        keyScans.put(index, parent.getKey().getParentTriplesMap().getSourceMap());
+                    }
+                }
+            }
+            done.addAll(wave);
+            remaining.removeAll(wave);
+            waves.add(wave);
+        }
+        LOGGER.info("Hash joining {} reference object maps in {} waves with {} extra key scans.",
+                indexes.size(), waves.size(), keyScans.size());
+    }
+
+    /**
+     * Returns true if every parent group of the given group was already
+     * scanned. Self references and parents outside of the mapping are always
+     * filled by a key scan; So they never hold back the group.
+     */
+    private static boolean isReady(List<EntityMap> group, Collection<List<EntityMap>> parents,
+                                   Set<List<EntityMap>> done) {
+        for (List<EntityMap> parent : parents) {
+            if (parent != null && parent != group && !done.contains(parent)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the groups of entity mappings in the order they must be scanned.
+     * Every group in a wave can be scanned concurrently.
+     *
+     * @return the list of waves of groups
+     */
+    List<List<List<EntityMap>>> listWaves() {
+        return waves;
+    }
+
+    /**
+     * Returns the dependency graph between the groups; Where a group depends
+     * on every group whose base scan collects the parent join keys it probes.
+     * So a group can start as soon as all of its parents completed, without
+     * waiting for the rest of their wave.
+     *
+     * @return the dependency graph of the groups
+     */
+    TriplesMapGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the indexes that must be filled by their own key scan of the
+     * given parent logical table before the first wave.
+     *
+     * @return the map of index to the parent logical table to scan
+     */
+    Map<ParentKeyIndex, SourceMap> listKeyScans() {
+        return keyScans;
+    }
+
+    /**
+     * Returns the indexes to fill from the rows of the base scan of the given
+     * group.
+     *
+     * @param group the group of entity mappings being scanned
+     * @return the list of indexes to collect parent join keys into
+     */
+    List<ParentKeyIndex> listCollectors(List<EntityMap> group) {
+        return collectors.getOrDefault(group, List.of());
+    }
+
+    /**
+     * Returns the index to probe for the given reference object map; Or null
+     * if the reference object map is not hash joined.
+     *
+     * @param refObjectMap the reference object map to probe for
+     * @return the index of the reference object map
+     */
+    ParentKeyIndex getIndex(RefObjectMap refObjectMap) {
+        return indexes.get(refObjectMap);
+    }
+}
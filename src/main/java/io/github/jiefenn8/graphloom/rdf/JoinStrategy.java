@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+/**
+ * This enumeration defines the strategies the {@link RDFMapper} can use to
+ * evaluate the reference object maps of a triples map against the logical
+ * table of their parent triples map.
+ */
+public enum JoinStrategy {
+
+    /**
+     * JOINT_QUERY : One joint query of the child and parent logical table per
+     * reference object map.
+     * FUSED_QUERY : One query per child logical table that checks every
+     * parent logical table referenced for a matching row; So all reference
+     * object maps of a triples map are evaluated in a single pass.
+     * HASH_JOIN : No joint query; The parent join keys are collected into an
+     * in-memory hash table while scanning the parent logical table; And
+     * probed while scanning the child logical table. So each logical table
+     * is read once and the source does not need to support joins.
+     * TRUSTED_FOREIGN_KEYS : No joint query and no parent lookup; The parent
+     * subject is generated straight from the child join columns while
+     * scanning the child logical table. Only correct when the source enforces
+     * the foreign keys of every join condition, as a dangling key still
+     * generates a triple instead of being dropped by the join.
+     */
+    JOINT_QUERY, FUSED_QUERY, HASH_JOIN, TRUSTED_FOREIGN_KEYS
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.r2rml.JoinCondition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class defines the in-memory hash table of the parent join keys of a
+ * single reference object map. The table is filled from the parent rows; And
+ * probed with the child rows, which match when every child join column value
+ * equals the parent join column value of some parent row. Values are compared
+ * as the strings returned by the source; And a null value never matches, the
+ * same as SQL equality. Collecting and probing is thread-safe.
+ */
+final class ParentKeyIndex {
+
+    private final String[] parentColumns;
+    private final String[] childColumns;
+    private final Set<List<String>> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a ParentKeyIndex with the specified join conditions between
+     * the parent and child columns.
+     *
+     * @param joinConditions the join conditions of the reference object map
+     */
+    ParentKeyIndex(Set<JoinCondition> joinConditions) {
+        List<JoinCondition> joins = new ArrayList<>(joinConditions);
+        parentColumns = new String[joins.size()];
+        childColumns = new String[joins.size()];
+        for (int i = 0; i < joins.size(); i++) {
+            parentColumns[i] = joins.get(i).getParent();
+            childColumns[i] = joins.get(i).getChild();
+        }
+    }
+
+    /**
+     * Adds the join key of the given parent entity to this index.
+     *
+     * @param parent the parent entity to collect the join key from
+     */
+    void collect(Entity parent) {
+        List<String> key = keyOf(parent, parentColumns);
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Returns true if the join key of the given child entity matches the join
+     * key of any parent entity collected.
+     *
+     * @param child the child entity to probe with
+     * @return true if any parent entity matched
+     */
+    boolean probe(Entity child) {
+        List<String> key = keyOf(child, childColumns);
+        return key != null && keys.contains(key);
+    }
+
+    /**
+     * Returns the names of the parent columns read when collecting.
+     *
+     * @return the set of parent column names
+     */
+    Set<String> listParentProperties() {
+        return new HashSet<>(Arrays.asList(parentColumns));
+    }
+
+    /**
+     * Returns the names of the child columns read when probing.
+     *
+     * @return the set of child column names
+     */
+    Set<String> listChildProperties() {
+        return new HashSet<>(Arrays.asList(childColumns));
+    }
+
+    /**
+     * Returns the number of distinct parent join keys in this index.
+     *
+     * @return the number of parent join keys
+     */
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the join key of the given entity made of the values of the given
+     * columns; Or null if any of the values is null.
+     */
+    private static List<String> keyOf(Entity entity, String[] columns) {
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = entity.getPropertyValue(columns[i]);
+            if (values[i] == null) {
+                return null;
+            }
+        }
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import com.google.gson.Gson;
+
+import java.util.Objects;
+
+/**
+ * This class defines the metrics of a single scan that was mapped with the
+ * staged fetch, generate and output pipeline. Stall times are the total time
+ * each stage spent blocked on a full or an empty queue; So a stage with a
+ * high stall time is waiting on its neighbour instead of doing work.
+ */
+public class PipelineMetrics {
+
+    private final String triplesMapId;
+    private final long rowCount;
+    private final long tripleCount;
+    private final int maxRowQueueDepth;
+    private final int maxTripleQueueDepth;
+    private final long fetchStallNanos;
+    private final long generateInputStallNanos;
+    private final long generateOutputStallNanos;
+    private final long outputStallNanos;
+
+    /**
+     * Constructs a PipelineMetrics with the specified Builder containing the
+     * properties to populate and initialise this immutable instance.
+     *
+     * @param builder the pipeline metrics builder to build from
+     */
+    private PipelineMetrics(Builder builder) {
+        Objects.requireNonNull(builder);
+        triplesMapId = builder.triplesMapId;
+        rowCount = builder.rowCount;
+        tripleCount = builder.tripleCount;
+        maxRowQueueDepth = builder.maxRowQueueDepth;
+        maxTripleQueueDepth = builder.maxTripleQueueDepth;
+        fetchStallNanos = builder.fetchStallNanos;
+        generateInputStallNanos = builder.generateInputStallNanos;
+        generateOutputStallNanos = builder.generateOutputStallNanos;
+        outputStallNanos = builder.outputStallNanos;
+    }
+
+    /**
+     * Returns the id of the triples map the scan belongs to.
+     *
+     * @return the id of the triples map scanned
+     */
+    public String getTriplesMapId() {
+        return triplesMapId;
+    }
+
+    /**
+     * Returns the number of rows fetched from the source.
+     *
+     * @return the number of rows fetched
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of triples pushed to the sink.
+     *
+     * @return the number of triples output
+     */
+    public long getTripleCount() {
+        return tripleCount;
+    }
+
+    /**
+     * Returns the highest number of row batches seen waiting in the queue
+     * between the fetch and generate stage.
+     *
+     * @return the max depth of the row queue
+     */
+    public int getMaxRowQueueDepth() {
+        return maxRowQueueDepth;
+    }
+
+    /**
+     * Returns the highest number of triple batches seen waiting in the queue
+     * between the generate and output stage.
+     *
+     * @return the max depth of the triple queue
+     */
+    public int getMaxTripleQueueDepth() {
+        return maxTripleQueueDepth;
+    }
+
+    /**
+     * Returns the time the fetch stage spent waiting on a full row queue.
+     *
+     * @return the stall time of the fetch stage in nanoseconds
+     */
+    public long getFetchStallNanos() {
+        return fetchStallNanos;
+    }
+
+    /**
+     * Returns the time the generate stage spent waiting on an empty row queue.
+     *
+     * @return the input stall time of the generate stage in nanoseconds
+     */
+    public long getGenerateInputStallNanos() {
+        return generateInputStallNanos;
+    }
+
+    /**
+     * Returns the time the generate stage spent waiting on a full triple
+     * queue.
+     *
+     * @return the output stall time of the generate stage in nanoseconds
+     */
+    public long getGenerateOutputStallNanos() {
+        return generateOutputStallNanos;
+    }
+
+    /**
+     * Returns the time the output stage spent waiting on an empty triple
+     * queue.
+     *
+     * @return the stall time of the output stage in nanoseconds
+     */
+    public long getOutputStallNanos() {
+        return outputStallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return new Gson().toJson(this);
+    }
+
+    /**
+     * Builder class for PipelineMetrics.
+     */
+    static class Builder {
+
+        private final String triplesMapId;
+        private long rowCount;
+        private long tripleCount;
+        private int maxRowQueueDepth;
+        private int maxTripleQueueDepth;
+        private long fetchStallNanos;
+        private long generateInputStallNanos;
+        private long generateOutputStallNanos;
+        private long outputStallNanos;
+
+        /**
+         * Constructs a Builder with the specified id of the triples map that
+         * the scan belongs to.
+         *
+         * @param triplesMapId the id of the triples map scanned
+         */
+        Builder(String triplesMapId) {
+            this.triplesMapId = triplesMapId;
+        }
+
+        Builder withCounts(long rowCount, long tripleCount) {
+            this.rowCount = rowCount;
+            this.tripleCount = tripleCount;
+            return this;
+        }
+
+        Builder withQueueDepths(int maxRowQueueDepth, int maxTripleQueueDepth) {
+            this.maxRowQueueDepth = maxRowQueueDepth;
+            this.maxTripleQueueDepth = maxTripleQueueDepth;
+            return this;
+        }
+
+        Builder withStalls(long fetch, long generateInput, long generateOutput, long output) {
+            fetchStallNanos = fetch;
+            generateInputStallNanos = generateInput;
+            generateOutputStallNanos = generateOutput;
+            outputStallNanos = output;
+            return this;
+        }
+
+        /**
+         * Returns an immutable instance of PipelineMetrics containing the
+         * properties given to its builder.
+         *
+         * @return instance of PipelineMetrics created with this builder
+         */
+        PipelineMetrics build() {
+            return new PipelineMetrics(this);
+        }
+    }
+}
@@ -7,19 +7,22 @@ package io.github.jiefenn8.graphloom.rdf;
 
 import io.github.jiefenn8.graphloom.api.*;
 import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.exceptions.MappingCancelledException;
 import io.github.jiefenn8.graphloom.rdf.r2rml.LogicalTable;
-import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import io.github.jiefenn8.graphloom.rdf.sink.ModelSink;
+import io.github.jiefenn8.graphloom.rdf.statistics.EntityCountStore;
+import io.github.jiefenn8.graphloom.rdf.statistics.InMemoryEntityCountStore;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkStore;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkType;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
-import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.rdf.model.Resource;
-import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * Implementation of {@link GraphMapper} interface using Jena; and R2RML
@@ -28,6 +31,41 @@ import java.util.Set;
 public class RDFMapper implements GraphMapper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RDFMapper.class);
+    private final JoinStrategy joinStrategy;
+    private final ScanPlanner scanPlanner;
+    private final ScanScheduler scanScheduler;
+    private final Map<String, Pair<String, WatermarkType>> watermarkColumns;
+    private final WatermarkStore watermarkStore;
+
+    /**
+     * Constructs a RDFMapper that maps every triples map sequentially on the
+     * calling thread.
+     */
+    public RDFMapper() {
+        this(new Builder());
+    }
+
+    /**
+     * Constructs a RDFMapper with the specified Builder containing the
+     * properties to populate and initialise this instance. The properties
+     * never change after construction; Only the entity count store is
+     * written to by each run.
+     *
+     * @param builder the mapper builder to build from
+     */
+    private RDFMapper(Builder builder) {
+        Objects.requireNonNull(builder);
+        joinStrategy = builder.joinStrategy;
+        EntityCountStore entityCountStore = builder.entityCountStore != null
+                ? builder.entityCountStore
+                : new InMemoryEntityCountStore();
+        scanPlanner = new ScanPlanner(joinStrategy, builder.projectionPushdown, builder.nullSubjectPushdown,
+                builder.partitionings, entityCountStore, builder.pipelineGenerators,
+                builder.pipelineQueueCapacity, builder.pipelineMetricsListener);
+        scanScheduler = new ScanScheduler(builder.parallelism, builder.maxInFlightQueries);
+        watermarkColumns = Collections.unmodifiableMap(new HashMap<>(builder.watermarkColumns));
+        watermarkStore = builder.watermarkStore;
+    }
 
     /**
      * Main mapping function converting a data-source to a RDF graph model form
@@ -39,98 +77,410 @@ public class RDFMapper implements GraphMapper {
      */
     @Override
     public Model mapToGraph(InputSource inputSource, ConfigMaps configMaps) {
+        Model outputGraph = ModelFactory.createDefaultModel();
+        mapToSink(inputSource, configMaps, new ModelSink(outputGraph));
+        LOGGER.info("Finished mapping source to RDF model. Total of {} triples in model.", outputGraph.size());
+        return outputGraph;
+    }
+
+    /**
+     * Main mapping function converting a data-source to RDF triples from the
+     * provided DAO and mapping configurations; And pushing each triple to the
+     * given sink as soon as it is generated.
+     *
+     * @param inputSource DAO providing access to the entity to map
+     * @param configMaps  to control the mapping function process
+     * @param tripleSink  the sink to receive the generated triples
+     */
+    @Override
+    public void mapToSink(InputSource inputSource, ConfigMaps configMaps, TripleSink tripleSink) {
         if (inputSource == null) throw new MapperException("Cannot retrieve source data from null input source.");
         if (configMaps == null) throw new MapperException("Cannot map source from null config maps.");
+        if (tripleSink == null) throw new MapperException("Cannot map source to null triple sink.");
 
         LOGGER.info("Starting RDF mapping process.");
-        Model outputGraph = ModelFactory.createDefaultModel();
-        outputGraph.setNsPrefixes(configMaps.getNamespaceMap());
-        outputGraph.add(mapSource(inputSource, configMaps.getEntityMaps()));
-        LOGGER.info("Finished mapping source to RDF model. Total of {} triples generated.", outputGraph.size());
-        return outputGraph;
+        tripleSink.start(configMaps.getNamespaceMap());
+        Map<String, String> highWatermarks = new HashMap<>();
+        long tripleCount;
+        try {
+            Set<EntityMap> triplesMaps = applyWatermarks(inputSource, configMaps.getEntityMaps(), highWatermarks);
+            tripleCount = mapSource(inputSource, triplesMaps, tripleSink);
+            tripleSink.finish();
+        } catch (RuntimeException | Error e) {
+            abort(tripleSink, e);
+            throw e;
+        }
+        highWatermarks.forEach((id, watermark) -> watermarkStore.save(id, watermark));
+        LOGGER.info("Finished mapping source to RDF. Total of {} triples generated.", tripleCount);
+    }
+
+    /**
+     * Aborts the given sink after the mapping failed with the given cause;
+     * Adding any exception thrown while aborting to the cause as suppressed.
+     * A mapping cancelled by its sink is not logged as a failure.
+     *
+     * @param tripleSink the sink of the failed mapping
+     * @param cause      the exception the mapping failed with
+     */
+    private void abort(TripleSink tripleSink, Throwable cause) {
+        if (cause instanceof MappingCancelledException) {
+            LOGGER.info("Mapping cancelled, aborting triple sink.");
+        } else {
+            LOGGER.warn("Mapping failed, aborting triple sink.");
+        }
+        try {
+            tripleSink.abort();
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Returns the given entity mappings with every incrementally mapped
+     * entity mapping narrowed down to the rows above the watermark saved by
+     * its last run, up to the current highest watermark column value. The
+     * current highest value of each is put into the given map, to be saved
+     * once the mapping succeeded. An incrementally mapped entity mapping with
+     * no rows at all is left out; And one with rows but no watermark column
+     * value in any of them fails the mapping, as none of its rows could ever
+     * be mapped.
+     *
+     * @param source         the source to query the watermarks from
+     * @param triplesMaps    the set of mapping configs
+     * @param highWatermarks the map to receive the high watermark of each
+     *                       incrementally mapped entity mapping by id
+     * @return the set of entity mappings to map
+     */
+    private Set<EntityMap> applyWatermarks(InputSource source, Set<EntityMap> triplesMaps,
+                                           Map<String, String> highWatermarks) {
+        if (watermarkColumns.isEmpty()) {
+            return triplesMaps;
+        }
+
+        Set<EntityMap> watermarked = new LinkedHashSet<>();
+        for (EntityMap triplesMap : triplesMaps) {
+            Pair<String, WatermarkType> watermarkColumn = watermarkColumns.get(triplesMap.getIdName());
+            if (watermarkColumn == null) {
+                watermarked.add(triplesMap);
+                continue;
+            }
+            if (!(triplesMap.getSourceMap() instanceof LogicalTable)) {
+                throw new MapperException("Incremental mapping requires a logical table.");
+            }
+
+            LogicalTable logicalTable = (LogicalTable) triplesMap.getSourceMap();
+            String lowWatermark = watermarkStore.load(triplesMap.getIdName());
+            String highWatermark = queryHighWatermark(source, logicalTable, watermarkColumn.getLeft());
+            if (highWatermark == null) {
+                LOGGER.info("Skipping '{}' with no rows.", triplesMap.getIdName());
+                continue;
+            }
+            LOGGER.info("Mapping '{}' from watermark {} up to {}.", triplesMap.getIdName(), lowWatermark,
+                    highWatermark);
+            LogicalTable delta = new LogicalTable.Builder(logicalTable)
+                    .withWatermarkRange(watermarkColumn.getLeft(), watermarkColumn.getRight(), lowWatermark,
+                            highWatermark)
+                    .build();
+            watermarked.add(new WatermarkedEntityMap(triplesMap, delta));
+            highWatermarks.put(triplesMap.getIdName(), highWatermark);
+        }
+        return watermarked;
     }
 
     /**
-     * Returns a model containing RDF triples generated from mapping the given
+     * Returns the current highest value of the given watermark column in the
+     * given logical table; Or null if the logical table has no rows.
+     *
+     * @param source          the source to query the watermark from
+     * @param logicalTable    the logical table to query
+     * @param watermarkColumn the column increasing with each new or changed row
+     * @return the highest watermark column value
+     * @throws MapperException if the logical table has rows but the
+     *                         watermark column is null in every one of them
+     */
+    private String queryHighWatermark(InputSource source, LogicalTable logicalTable, String watermarkColumn) {
+        LogicalTable maxLogicalTable = new LogicalTable.Builder(logicalTable)
+                .withHighWatermark(watermarkColumn)
+                .build();
+        String[] highWatermark = new String[2];
+        maxLogicalTable.forEachEntity(source, (e) -> {
+            highWatermark[0] = e.getPropertyValue(LogicalTable.WATERMARK_COLUMN);
+            highWatermark[1] = e.getPropertyValue(LogicalTable.ROW_COUNT_COLUMN);
+        });
+        if (highWatermark[0] == null && highWatermark[1] != null && Long.parseLong(highWatermark[1]) > 0) {
+            throw new MapperException("Watermark column " + watermarkColumn + " is null in every row.");
+        }
+        return highWatermark[0];
+    }
+
+    /**
+     * Returns the number of RDF triples generated from mapping the given
      * source using the provided set of mapping configs for each entity.
+     * The scans of every triples map, including each partition of a
+     * partitioned scan, are mapped concurrently if this mapper was built with
+     * a parallelism greater than one; Or each on its own thread if this mapper
+     * was built to use virtual threads. Triples maps with equal logical tables
+     * share a single scan of it.
      *
      * @param source      the source to map over to RDF triples
      * @param triplesMaps the set of mapping configs
-     * @return the model containing all the generated terms
+     * @param tripleSink  the sink to receive the generated triples
+     * @return the number of triples generated
      */
-    private Model mapSource(InputSource source, Set<EntityMap> triplesMaps) {
-        Model outputGraph = ModelFactory.createDefaultModel();
-        triplesMaps.forEach((e) -> outputGraph.add(mapEntity(e, source)));
-        return outputGraph;
+    private long mapSource(InputSource source, Set<EntityMap> triplesMaps, TripleSink tripleSink) {
+        Collection<List<EntityMap>> groups = scanPlanner.groupBySourceMap(triplesMaps);
+        if (joinStrategy != JoinStrategy.HASH_JOIN) {
+            TriplesMapGraph graph = new TriplesMapGraph();
+            groups.forEach(graph::addGroup);
+            logCriticalPath(graph, source);
+            return scanScheduler.runWave(groups, (g) -> scanPlanner.listScans(g, source, null), tripleSink);
+        }
+
+        HashJoin hashJoin = new HashJoin(groups);
+        scanScheduler.runScans(scanPlanner.listKeyScans(hashJoin, source), tripleSink);
+        logCriticalPath(hashJoin.getGraph(), source);
+        return scanScheduler.runGraph(hashJoin.getGraph(), hashJoin.listWaves(),
+                (g) -> scanPlanner.listScans(g, source, hashJoin), tripleSink);
     }
 
     /**
-     * Returns a model containing RDF triples related to an entity generated
-     * from mapping with the given source and entity mapping.
+     * Logs the critical path of the given graph; So the chain of groups,
+     * weighted by their estimated entity count, bounding the runtime of the
+     * mapping. Without a hash join the groups do not depend on each other;
+     * So the critical path is the single group with the most entities.
      *
-     * @param triplesMap the entity mapping to generate terms
-     * @param source     the source to map into RDF triples
-     * @return model containing RDF triples related to an entity
+     * @param graph  the dependency graph of the groups to map
+     * @param source the source to estimate the entity count of each group
      */
-    private Model mapEntity(EntityMap triplesMap, InputSource source) {
-        String triplesMapId = triplesMap.getIdName();
-        MDC.put("TRIPLESMAP_ID", triplesMapId);
-        LOGGER.info("Generating triples with '{}'.", triplesMapId);
-        Model entityGraph = ModelFactory.createDefaultModel();
-        SourceMap sourceMap = triplesMap.getSourceMap();
-        sourceMap.forEachEntity(source, (e) -> {
-            Resource subject = triplesMap.generateEntityTerm(e);
-            List<Resource> classes = triplesMap.listEntityClasses();
-            LOGGER.debug("Found {} class to map to entity.", classes.size());
-            int classCount = 0;
-            for (Resource resource : classes) {
-                entityGraph.add(subject, RDF.type, resource);
-                classCount++;
+    private void logCriticalPath(TriplesMapGraph graph, InputSource source) {
+        ToLongFunction<List<EntityMap>> groupCost = (g) -> scanPlanner.estimateEntityCount(g.get(0), source);
+        StringJoiner pathIds = new StringJoiner(" -> ");
+        long pathCost = 0;
+        for (List<EntityMap> group : graph.listCriticalPath(groupCost)) {
+            pathIds.add(ScanPlanner.groupId(group));
+            pathCost += groupCost.applyAsLong(group);
+        }
+        LOGGER.info("Critical path of {} estimated entities: {}.", pathCost, pathIds);
+    }
+
+    /**
+     * Builder class for RDFMapper.
+     */
+    public static class Builder {
+
+        private int parallelism = 1;
+        private int maxInFlightQueries;
+        private final Map<String, ScanPlanner.Partitioning> partitionings = new HashMap<>();
+        private int pipelineGenerators;
+        private int pipelineQueueCapacity;
+        private Consumer<PipelineMetrics> pipelineMetricsListener = (m) -> {
+        };
+        private JoinStrategy joinStrategy = JoinStrategy.JOINT_QUERY;
+        private boolean projectionPushdown;
+        private boolean nullSubjectPushdown;
+        private final Map<String, Pair<String, WatermarkType>> watermarkColumns = new HashMap<>();
+        private WatermarkStore watermarkStore;
+        private EntityCountStore entityCountStore;
+
+        /**
+         * Sets the number of scans that can be mapped concurrently. Each
+         * triples map is mapped with one scan of its logical table and one
+         * scan per entity reference property. Every concurrent scan runs its
+         * own query against the input source; So the parallelism should not
+         * exceed the number of connections the source can serve at once.
+         *
+         * @param parallelism the number of threads to map scans with
+         * @return this builder for fluent method chaining
+         */
+        public Builder withParallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive.");
             }
-            LOGGER.info("{} class property triples generated.", classCount);
-
-            Set<RelationMap> entityProperties = triplesMap.listRelationMaps();
-            LOGGER.debug("Found a total of {} property to map to entity.", entityProperties.size());
-            int propertyCount = 0;
-            for (RelationMap relationMap : entityProperties) {
-                NodeMap nodeMap = triplesMap.getNodeMapWithRelation(relationMap);
-                if (!(nodeMap instanceof RefObjectMap)) {
-                    RDFNode node = nodeMap.generateNodeTerm(e);
-                    if (node != null) {
-                        entityGraph.add(subject, relationMap.generateRelationTerm(e), node);
-                        propertyCount++;
-                    }
-                }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the mapper to run the logical table scan and every entity
+         * reference join scan of each triples map as its own task on a
+         * virtual thread; With at most the given number of scans querying
+         * the source at once. This mode takes precedence over the
+         * parallelism set with {@link #withParallelism(int)}. On a JVM
+         * without virtual threads, a pool of platform threads as large as
+         * the query limit is used instead.
+         *
+         * @param maxInFlightQueries the maximum number of concurrent queries
+         * @return this builder for fluent method chaining
+         */
+        public Builder withVirtualThreads(int maxInFlightQueries) {
+            if (maxInFlightQueries <= 0) {
+                throw new IllegalArgumentException("Max in-flight queries must be positive.");
             }
-            LOGGER.info("{} base property triples generated.", propertyCount);
-        });
+            this.maxInFlightQueries = maxInFlightQueries;
+            return this;
+        }
 
-        int entityRefCount = 0;
-        for (RelationMap relationMap : triplesMap.listRelationMaps()) {
-            NodeMap nodeMap = triplesMap.getNodeMapWithRelation(relationMap);
-            if (nodeMap instanceof RefObjectMap) {
-                RefObjectMap rdfObjMap = (RefObjectMap) nodeMap;
-                EntityMap refTriplesMap = rdfObjMap.getParentTriplesMap();
-                LogicalTable refLogicalTable = (LogicalTable) refTriplesMap.getSourceMap();
-                LogicalTable rootLogicalTable = (LogicalTable) triplesMap.getSourceMap();
-                LogicalTable jointLogicalTable = new LogicalTable.Builder(rootLogicalTable)
-                        .withJointQuery(refLogicalTable, rdfObjMap.listJoinConditions())
-                        .build();
-
-                jointLogicalTable.forEachEntity(source, (e) -> {
-                    Resource subject = triplesMap.generateEntityTerm(e);
-                    RDFNode node = rdfObjMap.generateNodeTerm(e);
-                    if (node != null) {
-                        entityGraph.add(subject, relationMap.generateRelationTerm(e), node);
-                    }
-                });
+        /**
+         * Sets the scans of the triples map with the given id to be split into
+         * the given number of disjoint partitions by the modulo of the given
+         * integer column. Each partition is queried from the source as its
+         * own scan; So partitions only run concurrently with a parallelism
+         * greater than one or with virtual threads.
+         *
+         * @param triplesMapId    the id of the triples map to partition
+         * @param partitionColumn the integer column to partition rows by
+         * @param partitionCount  the number of partitions to split into
+         * @return this builder for fluent method chaining
+         */
+        public Builder withPartitionedScan(String triplesMapId, String partitionColumn, int partitionCount) {
+            Objects.requireNonNull(triplesMapId, "Triples map id must not be null.");
+            Objects.requireNonNull(partitionColumn, "Partition column must not be null.");
+            if (partitionCount <= 0) {
+                throw new IllegalArgumentException("Partition count must be positive.");
             }
-            entityRefCount++;
+            partitionings.put(triplesMapId, new ScanPlanner.Partitioning(partitionColumn, partitionCount));
+            return this;
+        }
+
+        /**
+         * Sets every scan to run as a staged pipeline. The calling thread
+         * fetches entities from the source; The given number of threads
+         * generate triples from them; And a single thread outputs the
+         * triples to the sink. The stages are joined by queues holding at
+         * most the given number of batches; So a slow stage holds back the
+         * others instead of buffering the whole scan in memory.
+         *
+         * @param generatorThreads the number of threads generating triples
+         * @param queueCapacity    the number of batches each queue can hold
+         * @return this builder for fluent method chaining
+         */
+        public Builder withPipeline(int generatorThreads, int queueCapacity) {
+            if (generatorThreads <= 0 || queueCapacity <= 0) {
+                throw new IllegalArgumentException("Pipeline threads and queue capacity must be positive.");
+            }
+            pipelineGenerators = generatorThreads;
+            pipelineQueueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the listener to receive the metrics of each scan run as a
+         * staged pipeline. The listener may be called from many threads at
+         * once if scans run concurrently.
+         *
+         * @param listener the listener to receive the pipeline metrics
+         * @return this builder for fluent method chaining
+         */
+        public Builder withPipelineMetricsListener(Consumer<PipelineMetrics> listener) {
+            pipelineMetricsListener = Objects.requireNonNull(listener, "Listener must not be null.");
+            return this;
+        }
+
+        /**
+         * Sets the strategy used to evaluate the reference object maps of
+         * every triples map. Defaults to {@link JoinStrategy#JOINT_QUERY}.
+         *
+         * @param joinStrategy the strategy to evaluate reference object maps
+         * @return this builder for fluent method chaining
+         */
+        public Builder withJoinStrategy(JoinStrategy joinStrategy) {
+            this.joinStrategy = Objects.requireNonNull(joinStrategy, "Join strategy must not be null.");
+            return this;
+        }
+
+        /**
+         * Sets every query to select only the columns referenced by the term
+         * maps and join conditions of the triples maps reading it; Instead of
+         * every column of the logical table. Each logical table query is
+         * wrapped in an explicit projection; So every source map must be a
+         * logical table.
+         *
+         * @return this builder for fluent method chaining
+         */
+        public Builder withProjectionPushdown() {
+            projectionPushdown = true;
+            return this;
         }
-        LOGGER.info("{} entity reference property triples generated.", entityRefCount);
 
-        LOGGER.info("Completed generating {} triples for '{}'.", entityGraph.size(), triplesMapId);
-        MDC.clear();
-        return entityGraph;
+        /**
+         * Sets every query to filter out the rows where a column read by the
+         * subject map of the triples map is null; As those rows can never
+         * generate a triple. Scans shared by many triples maps keep a row if
+         * any of their subjects can be generated; And scans collecting the
+         * parent join keys of a hash join are never filtered. So every
+         * source map must be a logical table.
+         *
+         * @return this builder for fluent method chaining
+         */
+        public Builder withNullSubjectPushdown() {
+            nullSubjectPushdown = true;
+            return this;
+        }
+
+        /**
+         * Sets the triples map with the given id to be mapped incrementally
+         * by the given watermark column; Such as a last updated timestamp or
+         * an increasing id. Each run only maps the rows with a watermark
+         * column value above the highest value mapped by the last successful
+         * run; So only the triples of new or changed rows are generated. Rows
+         * deleted from the source are not detected; Nor are rows with a null
+         * watermark column. The watermarks are compared to the column as
+         * literals of the given type. Requires a watermark store set with
+         * {@link #withWatermarkStore(WatermarkStore)}.
+         *
+         * @param triplesMapId    the id of the triples map to map incrementally
+         * @param watermarkColumn the column increasing with each new or
+         *                        changed row
+         * @param watermarkType   the SQL type of the watermark column
+         * @return this builder for fluent method chaining
+         */
+        public Builder withWatermark(String triplesMapId, String watermarkColumn, WatermarkType watermarkType) {
+            Objects.requireNonNull(triplesMapId, "Triples map id must not be null.");
+            Objects.requireNonNull(watermarkColumn, "Watermark column must not be null.");
+            Objects.requireNonNull(watermarkType, "Watermark type must not be null.");
+            watermarkColumns.put(triplesMapId, Pair.of(watermarkColumn, watermarkType));
+            return this;
+        }
+
+        /**
+         * Sets the store persisting the high watermark of each incrementally
+         * mapped triples map between runs. The watermarks are only saved
+         * after every triple of a run was pushed to the sink.
+         *
+         * @param watermarkStore the store to load and save watermarks with
+         * @return this builder for fluent method chaining
+         */
+        public Builder withWatermarkStore(WatermarkStore watermarkStore) {
+            this.watermarkStore = Objects.requireNonNull(watermarkStore, "Watermark store must not be null.");
+            return this;
+        }
+
+        /**
+         * Sets the store keeping the number of entities counted by each base
+         * scan; So the scans of later runs sharing the store are ordered by
+         * their actual cost. Every mapper built without a store keeps the
+         * counts of its own runs in memory. The store is written to by
+         * concurrent scans; So it must be thread-safe.
+         *
+         * @param entityCountStore the store to load and save entity counts with
+         * @return this builder for fluent method chaining
+         */
+        public Builder withEntityCountStore(EntityCountStore entityCountStore) {
+            this.entityCountStore = Objects.requireNonNull(entityCountStore, "Entity count store must not be null.");
+            return this;
+        }
+
+        /**
+         * Returns an instance of RDFMapper containing the properties given to
+         * its builder.
+         *
+         * @return instance of RDFMapper created with the info in this builder
+         */
+        public RDFMapper build() {
+            if (!watermarkColumns.isEmpty() && watermarkStore == null) {
+                throw new IllegalArgumentException("Watermark store must be set with watermarks.");
+            }
+            return new RDFMapper(this);
+        }
     }
 }
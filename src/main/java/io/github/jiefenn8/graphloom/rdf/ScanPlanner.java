@@ -0,0 +1,685 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.*;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.rdf.r2rml.JoinCondition;
+import io.github.jiefenn8.graphloom.rdf.r2rml.LogicalTable;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import io.github.jiefenn8.graphloom.rdf.statistics.EntityCountStore;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class defines how the entity mappings are split into scans of the
+ * input source. Entity mappings with equal logical tables share a single
+ * base scan; And each entity reference property is evaluated in that base
+ * scan or in a joint query of its own, depending on the join strategy. Every
+ * scan is planned with the estimated number of entities it reads; So the
+ * {@link ScanScheduler} can start the longest scans first.
+ */
+final class ScanPlanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanPlanner.class);
+    private final JoinStrategy joinStrategy;
+    private final boolean projectionPushdown;
+    private final boolean nullSubjectPushdown;
+    private final Map<String, Partitioning> partitionings;
+    private final EntityCountStore entityCountStore;
+    private final int pipelineGenerators;
+    private final int pipelineQueueCapacity;
+    private final Consumer<PipelineMetrics> pipelineMetricsListener;
+
+    /**
+     * Constructs a ScanPlanner with the specified join strategy, pushdowns,
+     * partitioned scans, entity count store and pipeline setup.
+     *
+     * @param joinStrategy            the strategy to evaluate reference
+     *                                object maps with
+     * @param projectionPushdown      true to select only the columns read
+     * @param nullSubjectPushdown     true to filter out rows without subject
+     * @param partitionings           the partitioned scans by triples map id
+     * @param entityCountStore        the store of the entities counted by
+     *                                each base scan
+     * @param pipelineGenerators      the number of pipeline threads
+     *                                generating triples, or zero to scan
+     *                                without a pipeline
+     * @param pipelineQueueCapacity   the number of batches each pipeline
+     *                                queue can hold
+     * @param pipelineMetricsListener the listener to receive the metrics of
+     *                                each pipelined scan
+     */
+    ScanPlanner(JoinStrategy joinStrategy, boolean projectionPushdown, boolean nullSubjectPushdown,
+                Map<String, Partitioning> partitionings, EntityCountStore entityCountStore,
+                int pipelineGenerators, int pipelineQueueCapacity,
+                Consumer<PipelineMetrics> pipelineMetricsListener) {
+        this.joinStrategy = joinStrategy;
+        this.projectionPushdown = projectionPushdown;
+        this.nullSubjectPushdown = nullSubjectPushdown;
+        this.partitionings = Collections.unmodifiableMap(new HashMap<>(partitionings));
+        this.entityCountStore = entityCountStore;
+        this.pipelineGenerators = pipelineGenerators;
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+        this.pipelineMetricsListener = pipelineMetricsListener;
+    }
+
+    /**
+     * Returns the id names of the given group of entity mappings joined into
+     * a single id for logging.
+     *
+     * @param group the entity mappings sharing a logical table
+     * @return the joined id names of the group
+     */
+    static String groupId(List<EntityMap> group) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (EntityMap triplesMap : group) {
+            joiner.add(triplesMap.getIdName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the given entity mappings grouped by equal logical tables and
+     * partitioned scan setup; In the order each group was first seen.
+     *
+     * @param triplesMaps the set of mapping configs
+     * @return the groups of entity mappings able to share a scan
+     */
+    Collection<List<EntityMap>> groupBySourceMap(Set<EntityMap> triplesMaps) {
+        Map<List<Object>, List<EntityMap>> groups = new LinkedHashMap<>();
+        for (EntityMap triplesMap : triplesMaps) {
+            List<Object> key = Arrays.asList(triplesMap.getSourceMap(), partitionings.get(triplesMap.getIdName()));
+            groups.computeIfAbsent(key, (k) -> new ArrayList<>()).add(triplesMap);
+        }
+        if (groups.size() < triplesMaps.size()) {
+            LOGGER.info("Sharing scans between {} triples maps with {} logical tables.",
+                    triplesMaps.size(), groups.size());
+        }
+        return groups.values();
+    }
+
+    /**
+     * Returns the list of scans needed to map the given group of entity
+     * mappings sharing a logical table. The first scan maps the classes and
+     * base properties of each entity for every entity mapping in the group
+     * from a single pass over the logical table; And every other scan maps a
+     * single entity reference property from the joint query with its parent
+     * logical table. Each scan returns the number of triples it pushed to the
+     * sink given to it. With a hash join, the base scan also collects the
+     * parent join keys needed by other groups; And generates the entity
+     * reference properties of the group by probing the parent join keys
+     * instead of running joint queries.
+     *
+     * @param group    the entity mappings sharing a logical table
+     * @param source   the source to map into RDF triples
+     * @param hashJoin the hash join of the reference object maps, or null
+     * @return the list of scans to map the entity mappings with
+     */
+    List<ToLongFunction<TripleSink>> listScans(List<EntityMap> group, InputSource source, HashJoin hashJoin) {
+        List<TriplesMapPlan> plans = new ArrayList<>();
+        List<BaseScanRefs> baseScanRefs = new ArrayList<>();
+        for (EntityMap triplesMap : group) {
+            TriplesMapPlan plan = TriplesMapPlan.compile(triplesMap);
+            plans.add(plan);
+            baseScanRefs.add(listBaseScanRefs(plan, hashJoin));
+        }
+        List<ParentKeyIndex> collectors = hashJoin == null ? List.of() : hashJoin.listCollectors(group);
+
+        String groupId = groupId(group);
+        EntityMap first = group.get(0);
+        Set<String> properties = listBaseScanProperties(plans, baseScanRefs, collectors);
+        SourceMap baseSourceMap = collectors.isEmpty()
+                ? rejectNullSubjects(plans, first.getSourceMap())
+                : first.getSourceMap();
+        baseSourceMap = project(first, baseSourceMap, properties);
+        List<ToLongFunction<TripleSink>> scans = new ArrayList<>();
+        List<SourceMap> partitions = listPartitions(first, baseSourceMap);
+        for (int i = 0; i < partitions.size(); i++) {
+            SourceMap sourceMap = partitions.get(i);
+            int partitionIndex = i;
+            long cost = estimateEntityCount(first, partitionIndex, partitions.size(), source);
+            scans.add(new CostedScan(cost, (tripleSink) -> withContext(groupId, () -> mapBaseScan(groupId,
+                    partitionIndex, plans, baseScanRefs, collectors, properties, sourceMap, source, tripleSink))));
+        }
+        for (int i = 0; i < plans.size(); i++) {
+            scans.addAll(listJoinScans(plans.get(i), baseScanRefs.get(i), source));
+        }
+        return scans;
+    }
+
+    /**
+     * Returns the list of scans filling the parent key indexes of the given
+     * hash join that are not collected by the base scan of any group. Each
+     * scan only reads the parent join columns of its index.
+     *
+     * @param hashJoin the hash join of the reference object maps
+     * @param source   the source to map into RDF triples
+     * @return the list of key scans to run before the first wave
+     */
+    List<ToLongFunction<TripleSink>> listKeyScans(HashJoin hashJoin, InputSource source) {
+        List<ToLongFunction<TripleSink>> keyScans = new ArrayList<>();
+        for (Map.Entry<ParentKeyIndex, SourceMap> keyScan : hashJoin.listKeyScans().entrySet()) {
+            ParentKeyIndex index = keyScan.getKey();
+            String scanId = keyScan.getValue().getUniqueId();
+            SourceMap sourceMap = project(null, keyScan.getValue(), index.listParentProperties());
+            long cost = Math.max(source.estimateEntityCount(keyScan.getValue().getEntityReference()), 0);
+            keyScans.add(new CostedScan(cost, (sink) -> withContext(scanId,
+                    () -> scan(scanId, sourceMap, source, index.listParentProperties(), (e, s) -> {
+                        index.collect(e);
+                        return 0;
+                    }, sink))));
+        }
+        return keyScans;
+    }
+
+    /**
+     * Returns the estimated number of entities read by the base scan of every
+     * partition of the logical table of the given entity mapping.
+     *
+     * @param triplesMap the entity mapping whose logical table is read
+     * @param source     the source to estimate the entity count with
+     * @return the estimated number of entities read
+     */
+    long estimateEntityCount(EntityMap triplesMap, InputSource source) {
+        Partitioning partitioning = partitionings.get(triplesMap.getIdName());
+        int partitionCount = partitioning == null ? 1 : partitioning.partitionCount;
+        long entityCount = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            entityCount += estimateEntityCount(triplesMap, i, partitionCount, source);
+        }
+        return entityCount;
+    }
+
+    /**
+     * Returns the entity reference properties of the given compiled plan that
+     * are evaluated inside its base scan instead of a scan of their own. An
+     * entity reference property without join conditions shares the logical
+     * table of its parent; So it always generates its triple from each row,
+     * as does every entity reference property with trusted foreign keys. With
+     * a hash join, only the rows that matched a parent join key generate it.
+     *
+     * @param plan     the compiled plan of the entity mapping
+     * @param hashJoin the hash join of the reference object maps, or null
+     * @return the entity reference properties evaluated in the base scan
+     */
+    private BaseScanRefs listBaseScanRefs(TriplesMapPlan plan, HashJoin hashJoin) {
+        BaseScanRefs refs = new BaseScanRefs(plan.getRefCount());
+        for (int i = 0; i < plan.getRefCount(); i++) {
+            RefObjectMap refObjectMap = plan.getRefObjectMap(i);
+            if (!refObjectMap.hasJoinCondition() || joinStrategy == JoinStrategy.TRUSTED_FOREIGN_KEYS) {
+                refs.add(i, (e) -> true, plan.listRefProperties(i));
+            } else if (hashJoin != null && hashJoin.getIndex(refObjectMap) != null) {
+                ParentKeyIndex index = hashJoin.getIndex(refObjectMap);
+                refs.add(i, index::probe, ReferencedProperties.union(plan.listRefProperties(i),
+                        index.listChildProperties()));
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Returns the list of scans needed to map the entity reference properties
+     * of the given compiled plan with the join strategy of this planner. Entity
+     * reference properties evaluated in the base scan are skipped; So no scan
+     * is returned for them.
+     *
+     * @param plan         the compiled plan of the entity mapping
+     * @param baseScanRefs the entity reference properties evaluated in the
+     *                     base scan of the plan
+     * @param source       the source to map into RDF triples
+     * @return the list of scans to map the entity reference properties with
+     */
+    private List<ToLongFunction<TripleSink>> listJoinScans(TriplesMapPlan plan, BaseScanRefs baseScanRefs,
+                                                           InputSource source) {
+        EntityMap triplesMap = plan.getTriplesMap();
+        String triplesMapId = triplesMap.getIdName();
+        List<ToLongFunction<TripleSink>> scans = new ArrayList<>();
+        if (joinStrategy == JoinStrategy.FUSED_QUERY) {
+            List<Pair<LogicalTable, Set<JoinCondition>>> parents = new ArrayList<>();
+            List<Integer> refIndexes = new ArrayList<>();
+            Set<String> childColumns = new HashSet<>();
+            for (int i = 0; i < plan.getRefCount(); i++) {
+                if (baseScanRefs.contains(i)) {
+                    continue;
+                }
+                RefObjectMap refObjectMap = plan.getRefObjectMap(i);
+                parents.add(Pair.of(projectParent(refObjectMap), refObjectMap.listJoinConditions()));
+                refIndexes.add(i);
+                childColumns = ReferencedProperties.union(childColumns, plan.listRefProperties(i));
+            }
+            if (parents.isEmpty()) {
+                return scans;
+            }
+            SourceMap rootSourceMap = rejectNullSubjects(List.of(plan), triplesMap.getSourceMap());
+            LogicalTable rootLogicalTable = (LogicalTable) project(triplesMap, rootSourceMap, childColumns);
+            LogicalTable fusedLogicalTable = new LogicalTable.Builder(rootLogicalTable)
+                    .withFusedJointQuery(parents)
+                    .build();
+            List<SourceMap> partitions = listPartitions(triplesMap, fusedLogicalTable);
+            for (int p = 0; p < partitions.size(); p++) {
+                SourceMap sourceMap = partitions.get(p);
+                long cost = estimateEntityCount(triplesMap, p, partitions.size(), source);
+                scans.add(new CostedScan(cost, (tripleSink) -> withContext(triplesMapId,
+                        () -> mapFusedJoinScan(plan, refIndexes, sourceMap, source, tripleSink))));
+            }
+            return scans;
+        }
+
+        for (int i = 0; i < plan.getRefCount(); i++) {
+            if (baseScanRefs.contains(i)) {
+                continue;
+            }
+            int index = i;
+            RefObjectMap refObjectMap = plan.getRefObjectMap(i);
+            SourceMap rootSourceMap = rejectNullSubjects(List.of(plan), triplesMap.getSourceMap());
+            LogicalTable rootLogicalTable = (LogicalTable) project(triplesMap, rootSourceMap,
+                    plan.listRefProperties(i));
+            LogicalTable jointLogicalTable = new LogicalTable.Builder(rootLogicalTable)
+                    .withJointQuery(projectParent(refObjectMap), refObjectMap.listJoinConditions())
+                    .build();
+            List<SourceMap> partitions = listPartitions(triplesMap, jointLogicalTable);
+            for (int p = 0; p < partitions.size(); p++) {
+                SourceMap sourceMap = partitions.get(p);
+                long cost = estimateEntityCount(triplesMap, p, partitions.size(), source);
+                scans.add(new CostedScan(cost, (tripleSink) -> withContext(triplesMapId,
+                        () -> mapJoinScan(plan, index, sourceMap, source, tripleSink))));
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Returns the logical table of the parent triples map of the given
+     * reference object map; Narrowed down to its parent join columns if this
+     * planner was built with projection pushdown.
+     *
+     * @param refObjectMap the reference object map to join with its parent
+     * @return the parent logical table to join with
+     */
+    private LogicalTable projectParent(RefObjectMap refObjectMap) {
+        Set<String> parentColumns = new HashSet<>();
+        for (JoinCondition joinCondition : refObjectMap.listJoinConditions()) {
+            parentColumns.add(joinCondition.getParent());
+        }
+        return (LogicalTable) project(null, refObjectMap.getParentTriplesMap().getSourceMap(), parentColumns);
+    }
+
+    /**
+     * Returns the names of all entity properties read by the base scan of the
+     * given compiled plans; Including the properties read by the entity
+     * reference properties evaluated in it and the parent join keys collected
+     * from it.
+     *
+     * @param plans        the compiled plans of the entity mappings
+     * @param baseScanRefs the entity reference properties evaluated in the
+     *                     base scan of each plan
+     * @param collectors   the parent key indexes to collect entities into
+     * @return the set of entity property names read by the base scan
+     */
+    private Set<String> listBaseScanProperties(List<TriplesMapPlan> plans, List<BaseScanRefs> baseScanRefs,
+                                               List<ParentKeyIndex> collectors) {
+        Set<String> properties = new HashSet<>();
+        for (ParentKeyIndex collector : collectors) {
+            properties.addAll(collector.listParentProperties());
+        }
+        for (int i = 0; i < plans.size(); i++) {
+            properties = ReferencedProperties.union(properties, plans.get(i).listBaseProperties(),
+                    baseScanRefs.get(i).properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the given source map without the rows that cannot generate the
+     * subject of any of the given compiled plans if this planner was built
+     * with null subject pushdown; Otherwise the given source map as is. A
+     * plan with a constant subject, or a subject map that cannot list the
+     * columns it reads, keeps every row; So no filter is added.
+     *
+     * @param plans     the compiled plans of the entity mappings scanning it
+     * @param sourceMap the source map to filter
+     * @return the source map to scan
+     */
+    private SourceMap rejectNullSubjects(List<TriplesMapPlan> plans, SourceMap sourceMap) {
+        if (!nullSubjectPushdown) {
+            return sourceMap;
+        }
+        List<Set<String>> subjectColumns = new ArrayList<>();
+        for (TriplesMapPlan plan : plans) {
+            Set<String> columns = plan.getTriplesMap().listReferencedProperties();
+            if (columns.isEmpty() || ReferencedProperties.isUnknown(columns)) {
+                return sourceMap;
+            }
+            subjectColumns.add(columns);
+        }
+        if (!(sourceMap instanceof LogicalTable)) {
+            throw new MapperException("Null subject pushdown requires a logical table.");
+        }
+        return new LogicalTable.Builder((LogicalTable) sourceMap)
+                .withNotNullFilter(subjectColumns)
+                .build();
+    }
+
+    /**
+     * Returns the given source map narrowed down to the given columns if this
+     * planner was built with projection pushdown; Otherwise the given source
+     * map as is. The partition column of the given entity mapping is always
+     * kept, as the partitions are selected from the narrowed source map. An
+     * unknown set of columns keeps every column.
+     *
+     * @param triplesMap the entity mapping partitioning the scan, or null
+     * @param sourceMap  the source map to narrow down
+     * @param columns    the columns read from the source map
+     * @return the source map to scan
+     */
+    private SourceMap project(EntityMap triplesMap, SourceMap sourceMap, Set<String> columns) {
+        if (!projectionPushdown || columns.isEmpty() || ReferencedProperties.isUnknown(columns)) {
+            return sourceMap;
+        }
+        if (!(sourceMap instanceof LogicalTable)) {
+            throw new MapperException("Projection pushdown requires a logical table.");
+        }
+
+        Set<String> projection = new HashSet<>(columns);
+        Partitioning partitioning = triplesMap == null ? null : partitionings.get(triplesMap.getIdName());
+        if (partitioning != null) {
+            projection.add(partitioning.partitionColumn);
+        }
+        return new LogicalTable.Builder((LogicalTable) sourceMap)
+                .withProjection(projection)
+                .build();
+    }
+
+    /**
+     * Returns the estimated number of entities read by a scan of the given
+     * partition of the logical table of the given entity mapping. The number
+     * of entities counted by the base scan of the same partition in a
+     * previous run sharing the entity count store is used if there was one; Otherwise the
+     * estimate of the input source split evenly between the partitions.
+     * Unknown estimates count as zero.
+     *
+     * @param triplesMap     the entity mapping whose logical table is read
+     * @param partitionIndex the index of the partition read
+     * @param partitionCount the number of partitions of the logical table
+     * @param source         the source to estimate the entity count with
+     * @return the estimated number of entities read
+     */
+    private long estimateEntityCount(EntityMap triplesMap, int partitionIndex, int partitionCount,
+                                     InputSource source) {
+        Long previous = entityCountStore.load(scanKey(triplesMap, partitionIndex));
+        if (previous != null) {
+            return previous;
+        }
+        long estimate = source.estimateEntityCount(triplesMap.getSourceMap().getEntityReference());
+        return Math.max(estimate, 0) / partitionCount;
+    }
+
+    /**
+     * Returns the key of the given partition of the logical table of the
+     * given entity mapping in the entity count store.
+     */
+    private static String scanKey(EntityMap triplesMap, int partitionIndex) {
+        EntityReference entityReference = triplesMap.getSourceMap().getEntityReference();
+        String payload = entityReference == null ? null : entityReference.getPayload();
+        return triplesMap.getIdName() + "@" + payload + "#" + partitionIndex;
+    }
+
+    /**
+     * Returns the list of disjoint partitions of the given source map if a
+     * partitioned scan was set up for the given entity mapping; Otherwise a
+     * list with only the given source map.
+     *
+     * @param triplesMap the entity mapping the source map belongs to
+     * @param sourceMap  the source map to partition
+     * @return the list of source maps to scan
+     */
+    private List<SourceMap> listPartitions(EntityMap triplesMap, SourceMap sourceMap) {
+        Partitioning partitioning = partitionings.get(triplesMap.getIdName());
+        if (partitioning == null) {
+            return List.of(sourceMap);
+        }
+        if (!(sourceMap instanceof LogicalTable)) {
+            throw new MapperException("Partitioned scan requires a logical table.");
+        }
+
+        List<SourceMap> partitions = new ArrayList<>();
+        for (int i = 0; i < partitioning.partitionCount; i++) {
+            partitions.add(new LogicalTable.Builder((LogicalTable) sourceMap)
+                    .withPartition(partitioning.partitionColumn, i, partitioning.partitionCount)
+                    .build());
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns the result of the given scan run with the logging context of
+     * the current thread set to the given entity mapping id.
+     *
+     * @param triplesMapId the id of the entity mappings being scanned
+     * @param scan         the scan to run
+     * @return the number of triples generated by the scan
+     */
+    private long withContext(String triplesMapId, LongSupplier scan) {
+        MDC.put("TRIPLESMAP_ID", triplesMapId);
+        try {
+            return scan.getAsLong();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Returns the number of class and base property triples generated from
+     * scanning the given logical table, or partition of it, once with the
+     * compiled plans of every entity mapping sharing it. Each entity is also
+     * collected into the given parent key indexes; And generates the entity
+     * reference property triples evaluated in the base scan of each plan. The
+     * number of entities read is kept to schedule the next run of the scan.
+     *
+     * @param groupId        the joined id names of the entity mappings
+     * @param partitionIndex the index of the partition scanned
+     * @param plans          the compiled plans of the entity mappings
+     * @param baseScanRefs   the entity reference properties evaluated in the
+     *                       base scan of each plan
+     * @param collectors     the parent key indexes to collect entities into
+     * @param properties     the entity properties read by the base scan
+     * @param sourceMap      the logical table or partition to scan
+     * @param source         the source to map into RDF triples
+     * @param tripleSink     the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    private long mapBaseScan(String groupId, int partitionIndex, List<TriplesMapPlan> plans,
+                             List<BaseScanRefs> baseScanRefs, List<ParentKeyIndex> collectors,
+                             Set<String> properties, SourceMap sourceMap, InputSource source,
+                             TripleSink tripleSink) {
+        LOGGER.info("Generating triples with '{}'.", groupId);
+        LongAdder entityCount = new LongAdder();
+        TriplesMapPlan[] planArray = plans.toArray(new TriplesMapPlan[0]);
+        BaseScanRefs[] refsArray = baseScanRefs.toArray(new BaseScanRefs[0]);
+        ParentKeyIndex[] collectorArray = collectors.toArray(new ParentKeyIndex[0]);
+        long tripleCount = scan(groupId, sourceMap, source, properties, (e, sink) -> {
+            entityCount.increment();
+            for (ParentKeyIndex collector : collectorArray) {
+                collector.collect(e);
+            }
+            int count = 0;
+            for (int i = 0; i < planArray.length; i++) {
+                count += planArray[i].mapBase(e, sink);
+                List<Predicate<Entity>> filters = refsArray[i].filters;
+                for (int j = 0; j < filters.size(); j++) {
+                    Predicate<Entity> filter = filters.get(j);
+                    if (filter != null && filter.test(e)) {
+                        count += planArray[i].mapRef(j, e, sink);
+                    }
+                }
+            }
+            return count;
+        }, tripleSink);
+        for (TriplesMapPlan plan : planArray) {
+            entityCountStore.save(scanKey(plan.getTriplesMap(), partitionIndex), entityCount.sum());
+        }
+        LOGGER.info("{} class and base property triples generated.", tripleCount);
+        return tripleCount;
+    }
+
+    /**
+     * Returns the number of entity reference property triples generated from
+     * scanning the given joint query, or partition of it, for the entity
+     * reference property at the given index of the compiled plan.
+     *
+     * @param plan       the compiled plan of the entity mapping
+     * @param index      the index of the entity reference property in plan
+     * @param jointTable the joint logical table or partition to scan
+     * @param source     the source to map into RDF triples
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    private long mapJoinScan(TriplesMapPlan plan, int index, SourceMap jointTable, InputSource source,
+                             TripleSink tripleSink) {
+        EntityMap refTriplesMap = plan.getRefObjectMap(index).getParentTriplesMap();
+        LOGGER.info("Generating entity reference triples to '{}'.", refTriplesMap.getIdName());
+        long tripleCount = scan(plan.getTriplesMap().getIdName(), jointTable, source, plan.listRefProperties(index),
+                (e, sink) -> plan.mapRef(index, e, sink), tripleSink);
+        LOGGER.info("{} entity reference property triples generated.", tripleCount);
+        return tripleCount;
+    }
+
+    /**
+     * Returns the number of entity reference property triples generated from
+     * scanning the given fused joint query, or partition of it, for the
+     * given entity reference properties of the compiled plan in a single
+     * pass. The triple of an entity reference property is only generated for
+     * rows where its parent matched.
+     *
+     * @param plan       the compiled plan of the entity mapping
+     * @param refIndexes the indexes in plan of the entity reference
+     *                   properties fused, in the order of their parent join
+     * @param fusedTable the fused joint logical table or partition to scan
+     * @param source     the source to map into RDF triples
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    private long mapFusedJoinScan(TriplesMapPlan plan, List<Integer> refIndexes, SourceMap fusedTable,
+                                  InputSource source, TripleSink tripleSink) {
+        LOGGER.info("Generating {} entity reference properties in a fused scan.", refIndexes.size());
+        String[] markers = new String[refIndexes.size()];
+        int[] indexes = new int[refIndexes.size()];
+        Set<String> properties = new HashSet<>();
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = LogicalTable.joinMarker(i);
+            indexes[i] = refIndexes.get(i);
+            properties = ReferencedProperties.union(properties, Set.of(markers[i]),
+                    plan.listRefProperties(indexes[i]));
+        }
+        long tripleCount = scan(plan.getTriplesMap().getIdName(), fusedTable, source, properties, (e, sink) -> {
+            int count = 0;
+            for (int i = 0; i < markers.length; i++) {
+                if (e.getPropertyValue(markers[i]) != null) {
+                    count += plan.mapRef(indexes[i], e, sink);
+                }
+            }
+            return count;
+        }, tripleSink);
+        LOGGER.info("{} entity reference property triples generated.", tripleCount);
+        return tripleCount;
+    }
+
+    /**
+     * Returns the number of RDF triples generated from scanning the given
+     * source map with the given generator. The scan runs through a staged
+     * pipeline if this planner was built with one; Otherwise each entity is
+     * mapped directly on the calling thread.
+     *
+     * @param scanId     the id of the entity mappings being scanned
+     * @param sourceMap  the logical table or partition to scan
+     * @param source     the source to map into RDF triples
+     * @param properties the entity properties read by the generator
+     * @param generator  the function generating triples from an entity
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    private long scan(String scanId, SourceMap sourceMap, InputSource source, Set<String> properties,
+                      ToIntBiFunction<Entity, TripleSink> generator, TripleSink tripleSink) {
+        if (pipelineGenerators == 0) {
+            AtomicLong tripleCount = new AtomicLong();
+            sourceMap.forEachEntity(source, (e) -> tripleCount.addAndGet(generator.applyAsInt(e, tripleSink)));
+            return tripleCount.get();
+        }
+
+        EntityPipeline pipeline = new EntityPipeline(pipelineGenerators, pipelineQueueCapacity);
+        PipelineMetrics metrics = pipeline.run(scanId, sourceMap, source,
+                properties, generator, tripleSink);
+        LOGGER.info("Pipeline metrics: {}", metrics);
+        pipelineMetricsListener.accept(metrics);
+        return metrics.getTripleCount();
+    }
+
+    /**
+     * Entity reference properties of a compiled plan that are evaluated in its
+     * base scan; With the filter deciding which entities generate the triple
+     * and the extra entity properties read by them.
+     */
+    private static class BaseScanRefs {
+
+        private final List<Predicate<Entity>> filters;
+        private Set<String> properties = new HashSet<>();
+
+        private BaseScanRefs(int refCount) {
+            filters = new ArrayList<>(Collections.nCopies(refCount, null));
+        }
+
+        private void add(int index, Predicate<Entity> filter, Set<String> refProperties) {
+            filters.set(index, filter);
+            properties = ReferencedProperties.union(properties, refProperties);
+        }
+
+        private boolean contains(int index) {
+            return filters.get(index) != null;
+        }
+    }
+
+    /**
+     * Partition column and number of partitions to split the scans of a
+     * triples map into.
+     */
+    static final class Partitioning {
+
+        private final String partitionColumn;
+        private final int partitionCount;
+
+        Partitioning(String partitionColumn, int partitionCount) {
+            this.partitionColumn = partitionColumn;
+            this.partitionCount = partitionCount;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Partitioning that = (Partitioning) obj;
+            return partitionCount == that.partitionCount &&
+                    Objects.equals(partitionColumn, that.partitionColumn);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partitionColumn, partitionCount);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class defines how the scans planned for groups of entity mappings are
+ * run. Without parallelism or virtual threads, every scan runs one after
+ * another on the calling thread; Otherwise the scans run concurrently,
+ * longest first, with at most a set number of them querying the source at
+ * once.
+ */
+final class ScanScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanScheduler.class);
+    private final int parallelism;
+    private final int maxInFlightQueries;
+
+    /**
+     * Constructs a ScanScheduler with the specified number of platform
+     * threads to run scans with; Or the specified number of concurrent
+     * queries if scans should run on virtual threads instead.
+     *
+     * @param parallelism        the number of threads to run scans with
+     * @param maxInFlightQueries the maximum number of concurrent queries on
+     *                           virtual threads, or zero to use platform
+     *                           threads
+     */
+    ScanScheduler(int parallelism, int maxInFlightQueries) {
+        this.parallelism = parallelism;
+        this.maxInFlightQueries = maxInFlightQueries;
+    }
+
+    /**
+     * Returns the given scans ordered longest first by their estimated number
+     * of entities; So a large scan does not start last and hold up the end of
+     * the run on its own.
+     *
+     * @param scans the scans to order
+     * @return the new list of ordered scans
+     */
+    static List<ToLongFunction<TripleSink>> sortByCost(Collection<ToLongFunction<TripleSink>> scans) {
+        List<ToLongFunction<TripleSink>> orderedScans = new ArrayList<>(scans);
+        orderedScans.sort(Comparator.comparingLong(CostedScan::costOf).reversed());
+        return orderedScans;
+    }
+
+    /**
+     * Returns the number of RDF triples generated from running the scans of
+     * the given groups as a dependency graph. Each group starts as soon as
+     * every group it depends on completed; So unrelated groups never wait on
+     * each other. Without parallelism or virtual threads, the groups are
+     * mapped one after another in the order of the given waves.
+     *
+     * @param graph      the dependency graph between the groups
+     * @param waves      the groups in the order they must be scanned
+     * @param scanLister the function returning the scans of a group
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    long runGraph(TriplesMapGraph graph, List<List<List<EntityMap>>> waves,
+                  Function<List<EntityMap>, List<ToLongFunction<TripleSink>>> scanLister, TripleSink tripleSink) {
+        if (isSequential()) {
+            long tripleCount = 0;
+            for (List<List<EntityMap>> wave : waves) {
+                tripleCount += runWave(wave, scanLister, tripleSink);
+            }
+            return tripleCount;
+        }
+
+        Map<List<EntityMap>, Integer> waiting = new IdentityHashMap<>();
+        List<List<EntityMap>> ready = new ArrayList<>();
+        for (List<List<EntityMap>> wave : waves) {
+            for (List<EntityMap> group : wave) {
+                int parentCount = graph.listParents(group).size();
+                waiting.put(group, parentCount);
+                if (parentCount == 0) {
+                    ready.add(group);
+                }
+            }
+        }
+
+        Semaphore inFlightQueries = new Semaphore(getMaxConcurrentScans(), true);
+        ExecutorService executorService = newScanExecutor(parallelism);
+        try {
+            CompletionService<Long> completionService = new ExecutorCompletionService<>(executorService);
+            Map<Future<Long>, List<EntityMap>> running = new HashMap<>();
+            Map<List<EntityMap>, Integer> remainingScans = new IdentityHashMap<>();
+            long tripleCount = 0;
+            while (!ready.isEmpty() || !running.isEmpty()) {
+                for (List<EntityMap> group : ready) {
+                    List<ToLongFunction<TripleSink>> scans = sortByCost(scanLister.apply(group));
+                    for (ToLongFunction<TripleSink> scan : scans) {
+                        running.put(completionService.submit(newScanTask(scan, tripleSink, inFlightQueries)), group);
+                    }
+                    remainingScans.put(group, scans.size());
+                }
+                ready.clear();
+
+                Future<Long> completed = takeCompleted(completionService);
+                List<EntityMap> group = running.remove(completed);
+                tripleCount += awaitResult(completed);
+                if (remainingScans.merge(group, -1, Integer::sum) > 0) {
+                    continue;
+                }
+                for (List<EntityMap> dependent : graph.listChildren(group)) {
+                    if (waiting.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            return tripleCount;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the number of RDF triples generated from running the scans of
+     * the given groups; Where no group depends on the result of another
+     * group in the same wave.
+     *
+     * @param groups     the groups of entity mappings sharing a logical table
+     * @param scanLister the function returning the scans of a group
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    long runWave(Collection<List<EntityMap>> groups,
+                 Function<List<EntityMap>, List<ToLongFunction<TripleSink>>> scanLister, TripleSink tripleSink) {
+        if (isSequential()) {
+            long tripleCount = 0;
+            for (List<EntityMap> group : groups) {
+                long groupTripleCount = 0;
+                for (ToLongFunction<TripleSink> scan : scanLister.apply(group)) {
+                    groupTripleCount += scan.applyAsLong(tripleSink);
+                }
+                LOGGER.info("Completed generating {} triples for '{}'.", groupTripleCount,
+                        ScanPlanner.groupId(group));
+                tripleCount += groupTripleCount;
+            }
+            return tripleCount;
+        }
+
+        List<ToLongFunction<TripleSink>> scans = new ArrayList<>();
+        for (List<EntityMap> group : groups) {
+            scans.addAll(scanLister.apply(group));
+        }
+        return runScans(scans, tripleSink);
+    }
+
+    /**
+     * Returns the total number of RDF triples generated from running all the
+     * given scans. The scans run one after another on the calling thread;
+     * Unless this scheduler has a parallelism greater than one or uses
+     * virtual threads. Concurrent scans are started longest first by their
+     * estimated number of entities.
+     *
+     * @param scans      the scans to run
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    long runScans(List<ToLongFunction<TripleSink>> scans, TripleSink tripleSink) {
+        if (isSequential()) {
+            long tripleCount = 0;
+            for (ToLongFunction<TripleSink> scan : scans) {
+                tripleCount += scan.applyAsLong(tripleSink);
+            }
+            return tripleCount;
+        }
+        if (scans.isEmpty()) {
+            return 0;
+        }
+
+        List<ToLongFunction<TripleSink>> orderedScans = sortByCost(scans);
+        LOGGER.debug("Scheduling scans longest first; Largest estimate of {} entities.",
+                CostedScan.costOf(orderedScans.get(0)));
+
+        int maxConcurrentScans = getMaxConcurrentScans();
+        Semaphore inFlightQueries = new Semaphore(maxConcurrentScans, true);
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (ToLongFunction<TripleSink> scan : orderedScans) {
+            tasks.add(newScanTask(scan, tripleSink, inFlightQueries));
+        }
+        LOGGER.info("Mapping {} scans with at most {} queries in flight.", tasks.size(), maxConcurrentScans);
+        return runTasks(newScanExecutor(Math.min(parallelism, tasks.size())), tasks);
+    }
+
+    /**
+     * Returns true if every scan runs one after another on the calling
+     * thread.
+     */
+    private boolean isSequential() {
+        return maxInFlightQueries == 0 && parallelism == 1;
+    }
+
+    /**
+     * Returns the maximum number of scans querying the source at once.
+     */
+    private int getMaxConcurrentScans() {
+        return maxInFlightQueries > 0 ? maxInFlightQueries : parallelism;
+    }
+
+    /**
+     * Returns the task running the given scan once a permit of the given
+     * semaphore is free. The triples of the scan are pushed to the given sink
+     * in batches.
+     *
+     * @param scan            the scan to run
+     * @param tripleSink      the sink to receive the generated triples
+     * @param inFlightQueries the semaphore limiting the concurrent scans
+     * @return the task returning the number of triples generated
+     */
+    private Callable<Long> newScanTask(ToLongFunction<TripleSink> scan, TripleSink tripleSink,
+                                       Semaphore inFlightQueries) {
+        return () -> {
+            inFlightQueries.acquire();
+            try {
+                BatchingSink batchingSink = new BatchingSink(tripleSink, BatchingSink.DEFAULT_BATCH_SIZE);
+                long tripleCount = scan.applyAsLong(batchingSink);
+                batchingSink.flush();
+                return tripleCount;
+            } finally {
+                inFlightQueries.release();
+            }
+        };
+    }
+
+    /**
+     * Returns the executor to run scan tasks with; Starting a virtual thread
+     * for each task if this scheduler uses virtual threads. Otherwise, a pool
+     * of the given number of platform threads.
+     *
+     * @param poolSize the number of platform threads in the pool
+     * @return the executor to run scan tasks with
+     */
+    private ExecutorService newScanExecutor(int poolSize) {
+        if (maxInFlightQueries > 0) {
+            return newVirtualThreadExecutor();
+        }
+        return Executors.newFixedThreadPool(poolSize, new MapperThreadFactory());
+    }
+
+    /**
+     * Returns an executor that starts a new virtual thread for each task. If
+     * the running JVM does not support virtual threads, a pool of platform
+     * threads as large as the in-flight query limit is returned instead.
+     *
+     * @return the executor to run scan tasks with
+     */
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads are not supported by this JVM, using platform threads instead.");
+            return Executors.newFixedThreadPool(maxInFlightQueries, new MapperThreadFactory());
+        }
+    }
+
+    /**
+     * Returns the total number of RDF triples generated by running all the
+     * given tasks with the executor service. The executor service is shut
+     * down once every task completed or any task failed.
+     *
+     * @param executorService the executor to run the tasks with
+     * @param tasks           the mapping tasks to run
+     * @return the number of triples generated
+     */
+    private long runTasks(ExecutorService executorService, List<Callable<Long>> tasks) {
+        try {
+            CompletionService<Long> completionService = new ExecutorCompletionService<>(executorService);
+            for (Callable<Long> task : tasks) {
+                completionService.submit(task);
+            }
+
+            long tripleCount = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                tripleCount += awaitResult(takeCompleted(completionService));
+            }
+            return tripleCount;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the next mapping task to complete in the given completion
+     * service.
+     *
+     * @param completionService the service running the mapping tasks
+     * @return the completed mapping task
+     */
+    private Future<Long> takeCompleted(CompletionService<Long> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting for triples maps to be mapped.", e);
+        }
+    }
+
+    /**
+     * Returns the result of the given completed mapping task; Rethrowing any
+     * exception the task failed with.
+     *
+     * @param completed the completed mapping task
+     * @return the number of triples generated by the task
+     */
+    private long awaitResult(Future<Long> completed) {
+        try {
+            return completed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting for triples maps to be mapped.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MapperException("Failed to map triples map.", cause);
+        }
+    }
+
+    /**
+     * Thread factory naming the threads used to map triples maps.
+     */
+    private static class MapperThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "graphloom-mapper-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
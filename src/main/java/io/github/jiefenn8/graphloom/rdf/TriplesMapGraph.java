@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class defines the dependency graph between groups of entity mappings
+ * sharing a scan. A group depends on every group whose base scan collects
+ * the parent join keys it probes; So it can only be scanned once all of them
+ * completed. The graph is built by {@link HashJoin}; And drives both the
+ * scheduling of the groups and the estimate of their critical path. Without
+ * a hash join, the mapper builds a graph of the groups alone to report the
+ * critical path of the mapping.
+ */
+final class TriplesMapGraph {
+
+    private final Map<List<EntityMap>, Set<List<EntityMap>>> parents = new IdentityHashMap<>();
+    private final Map<List<EntityMap>, Set<List<EntityMap>>> children = new IdentityHashMap<>();
+    private final List<List<EntityMap>> groups = new ArrayList<>();
+
+    /**
+     * Adds the given group to this graph without any dependency.
+     *
+     * @param group the group of entity mappings to add
+     */
+    void addGroup(List<EntityMap> group) {
+        if (!parents.containsKey(group)) {
+            parents.put(group, Collections.newSetFromMap(new IdentityHashMap<>()));
+            children.put(group, Collections.newSetFromMap(new IdentityHashMap<>()));
+            groups.add(group);
+        }
+    }
+
+    /**
+     * Adds a dependency of the given child group on the given parent group.
+     * Both groups must already be in this graph.
+     *
+     * @param child  the group probing the parent join keys
+     * @param parent the group collecting the parent join keys
+     */
+    void addDependency(List<EntityMap> child, List<EntityMap> parent) {
+        parents.get(child).add(parent);
+        children.get(parent).add(child);
+    }
+
+    /**
+     * Returns every group in this graph in the order they were added.
+     *
+     * @return the list of groups
+     */
+    List<List<EntityMap>> listGroups() {
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * Returns the groups the given group depends on.
+     *
+     * @param group the group to get the parents of
+     * @return the set of parent groups
+     */
+    Set<List<EntityMap>> listParents(List<EntityMap> group) {
+        return Collections.unmodifiableSet(parents.getOrDefault(group, Set.of()));
+    }
+
+    /**
+     * Returns the groups depending on the given group.
+     *
+     * @param group the group to get the children of
+     * @return the set of child groups
+     */
+    Set<List<EntityMap>> listChildren(List<EntityMap> group) {
+        return Collections.unmodifiableSet(children.getOrDefault(group, Set.of()));
+    }
+
+    /**
+     * Returns the chain of groups, from a parent down to its last descendant,
+     * with the highest total cost; So the chain bounding the runtime when
+     * every unrelated chain is scanned concurrently.
+     *
+     * @param cost the function returning the cost of scanning a group
+     * @return the list of groups on the critical path
+     */
+    List<List<EntityMap>> listCriticalPath(ToLongFunction<List<EntityMap>> cost) {
+        Map<List<EntityMap>, Long> pathCosts = new IdentityHashMap<>();
+        Map<List<EntityMap>, List<EntityMap>> next = new IdentityHashMap<>();
+        List<EntityMap> start = null;
+        for (List<EntityMap> group : groups) {
+            long pathCost = pathCost(group, cost, pathCosts, next);
+            if (start == null || pathCost > pathCosts.get(start)) {
+                start = group;
+            }
+        }
+
+        List<List<EntityMap>> path = new ArrayList<>();
+        for (List<EntityMap> group = start; group != null; group = next.get(group)) {
+            path.add(group);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the highest total cost of any chain starting at the given
+     * group; Remembering the cost and the next group of the chain for each
+     * group visited. The dependencies only ever point to an earlier wave of
+     * {@link HashJoin}; So the graph has no cycle.
+     */
+    private long pathCost(List<EntityMap> group, ToLongFunction<List<EntityMap>> cost,
+                          Map<List<EntityMap>, Long> pathCosts, Map<List<EntityMap>, List<EntityMap>> next) {
+        Long known = pathCosts.get(group);
+        if (known != null) {
+            return known;
+        }
+
+        long longest = 0;
+        for (List<EntityMap> child : children.get(group)) {
+            long childCost = pathCost(child, cost, pathCosts, next);
+            if (childCost > longest || !next.containsKey(group)) {
+                longest = childCost;
+                next.put(group, child);
+            }
+        }
+
+        long pathCost = cost.applyAsLong(group) + longest;
+        pathCosts.put(group, pathCost);
+        return pathCost;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.NodeMap;
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+
+import java.util.*;
+
+/**
+ * This class defines the immutable execution plan of a single entity mapping.
+ * The plan is compiled once before any entity is read; So the classes, the
+ * base relation and node map pairs and the entity reference pairs of the
+ * entity mapping are resolved into plain arrays instead of being looked up
+ * again for every entity.
+ */
+final class TriplesMapPlan {
+
+    private final EntityMap triplesMap;
+    private final Resource[] classes;
+    private final RelationMap[] relationMaps;
+    private final NodeMap[] nodeMaps;
+    private final RelationMap[] refRelationMaps;
+    private final RefObjectMap[] refObjectMaps;
+
+    /**
+     * Constructs a TriplesMapPlan with the specified entity mapping to compile
+     * the plan from.
+     *
+     * @param triplesMap the entity mapping to compile
+     */
+    private TriplesMapPlan(EntityMap triplesMap) {
+        this.triplesMap = Objects.requireNonNull(triplesMap, "Entity map must not be null.");
+        classes = triplesMap.listEntityClasses().toArray(new Resource[0]);
+
+        List<RelationMap> baseRelations = new ArrayList<>();
+        List<NodeMap> baseNodes = new ArrayList<>();
+        List<RelationMap> refRelations = new ArrayList<>();
+        List<RefObjectMap> refNodes = new ArrayList<>();
+        for (RelationMap relationMap : triplesMap.listRelationMaps()) {
+            NodeMap nodeMap = triplesMap.getNodeMapWithRelation(relationMap);
+            if (nodeMap instanceof RefObjectMap) {
+                refRelations.add(relationMap);
+                refNodes.add((RefObjectMap) nodeMap);
+            } else {
+                baseRelations.add(relationMap);
+                baseNodes.add(nodeMap);
+            }
+        }
+        relationMaps = baseRelations.toArray(new RelationMap[0]);
+        nodeMaps = baseNodes.toArray(new NodeMap[0]);
+        refRelationMaps = refRelations.toArray(new RelationMap[0]);
+        refObjectMaps = refNodes.toArray(new RefObjectMap[0]);
+    }
+
+    /**
+     * Returns a plan compiled from the given entity mapping.
+     *
+     * @param triplesMap the entity mapping to compile
+     * @return the compiled plan of the entity mapping
+     */
+    static TriplesMapPlan compile(EntityMap triplesMap) {
+        return new TriplesMapPlan(triplesMap);
+    }
+
+    /**
+     * Returns the entity mapping this plan was compiled from.
+     *
+     * @return the compiled entity mapping
+     */
+    EntityMap getTriplesMap() {
+        return triplesMap;
+    }
+
+    /**
+     * Returns the number of entity reference properties in this plan; Each
+     * needing its own pass over the source.
+     *
+     * @return the number of entity reference properties
+     */
+    int getRefCount() {
+        return refObjectMaps.length;
+    }
+
+    /**
+     * Returns the relation map of the entity reference property at the given
+     * index of this plan.
+     *
+     * @param index the index of the entity reference property
+     * @return the relation map of the entity reference property
+     */
+    RelationMap getRefRelationMap(int index) {
+        return refRelationMaps[index];
+    }
+
+    /**
+     * Returns the reference object map of the entity reference property at
+     * the given index of this plan.
+     *
+     * @param index the index of the entity reference property
+     * @return the reference object map of the entity reference property
+     */
+    RefObjectMap getRefObjectMap(int index) {
+        return refObjectMaps[index];
+    }
+
+    /**
+     * Returns the names of all entity properties read when generating the
+     * class and base property triples of an entity; Or the unknown marker of
+     * {@link ReferencedProperties} if any map of this plan cannot list them.
+     *
+     * @return the set of entity property names read by the base scan
+     */
+    Set<String> listBaseProperties() {
+        Set<String> properties = ReferencedProperties.union(triplesMap.listReferencedProperties());
+        for (int i = 0; i < nodeMaps.length; i++) {
+            properties = ReferencedProperties.union(properties, relationMaps[i].listReferencedProperties(),
+                    nodeMaps[i].listReferencedProperties());
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the names of all entity properties read when generating the
+     * entity reference property triple at the given index of this plan; Or
+     * the unknown marker of {@link ReferencedProperties} if any map of it
+     * cannot list them.
+     *
+     * @param index the index of the entity reference property
+     * @return the set of entity property names read by the join scan
+     */
+    Set<String> listRefProperties(int index) {
+        return ReferencedProperties.union(triplesMap.listReferencedProperties(),
+                refRelationMaps[index].listReferencedProperties(),
+                refObjectMaps[index].listReferencedProperties());
+    }
+
+    /**
+     * Returns the number of class and base property triples generated from
+     * the given entity and pushed to the given sink. An entity without a
+     * subject is rejected before any property is generated.
+     *
+     * @param entity     the entity to generate the triples from
+     * @param tripleSink the sink to receive the generated triples
+     * @return the number of triples generated
+     */
+    int mapBase(Entity entity, TripleSink tripleSink) {
+        Resource subject = triplesMap.generateEntityTerm(entity);
+        if (subject == null) {
+            return 0;
+        }
+        for (Resource resource : classes) {
+            tripleSink.accept(subject, RDF.type, resource);
+        }
+
+        int tripleCount = classes.length;
+        for (int i = 0; i < nodeMaps.length; i++) {
+            RDFNode node = nodeMaps[i].generateNodeTerm(entity);
+            if (node != null) {
+                tripleSink.accept(subject, relationMaps[i].generateRelationTerm(entity), node);
+                tripleCount++;
+            }
+        }
+        return tripleCount;
+    }
+
+    /**
+     * Returns the number of entity reference property triples generated from
+     * the given joint entity for the entity reference property at the given
+     * index of this plan and pushed to the given sink.
+     *
+     * @param index      the index of the entity reference property
+     * @param entity     the joint entity to generate the triple from
+     * @param tripleSink the sink to receive the generated triple
+     * @return the number of triples generated
+     */
+    int mapRef(int index, Entity entity, TripleSink tripleSink) {
+        Resource subject = triplesMap.generateEntityTerm(entity);
+        if (subject == null) {
+            return 0;
+        }
+        RDFNode node = refObjectMaps[index].generateNodeTerm(entity);
+        if (node == null) {
+            return 0;
+        }
+        tripleSink.accept(subject, refRelationMaps[index].generateRelationTerm(entity), node);
+        return 1;
+    }
+}
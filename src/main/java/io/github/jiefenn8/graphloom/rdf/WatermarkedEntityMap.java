@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.NodeMap;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Implementation of {@link EntityMap} interface that maps only the rows of
+ * another entity mapping between its watermarks. Every method delegates to
+ * the other entity mapping except for the source map; So reference object
+ * maps of other entity mappings still join with the full logical table of
+ * the other entity mapping.
+ */
+final class WatermarkedEntityMap implements EntityMap {
+
+    private final EntityMap triplesMap;
+    private final SourceMap sourceMap;
+
+    /**
+     * Constructs a WatermarkedEntityMap with the specified entity mapping to
+     * delegate to and the source map narrowed down to its watermarks.
+     *
+     * @param triplesMap the entity mapping to delegate to
+     * @param sourceMap  the source map selecting the rows to map
+     */
+    WatermarkedEntityMap(EntityMap triplesMap, SourceMap sourceMap) {
+        this.triplesMap = Objects.requireNonNull(triplesMap, "Entity map must not be null.");
+        this.sourceMap = Objects.requireNonNull(sourceMap, "Source map must not be null.");
+    }
+
+    @Override
+    public SourceMap getSourceMap() {
+        return sourceMap;
+    }
+
+    @Override
+    public String getIdName() {
+        return triplesMap.getIdName();
+    }
+
+    @Override
+    public Set<RelationMap> listRelationMaps() {
+        return triplesMap.listRelationMaps();
+    }
+
+    @Override
+    public NodeMap getNodeMapWithRelation(RelationMap relationMap) {
+        return triplesMap.getNodeMapWithRelation(relationMap);
+    }
+
+    @Override
+    public boolean hasRelationNodeMaps() {
+        return triplesMap.hasRelationNodeMaps();
+    }
+
+    @Override
+    public Resource generateEntityTerm(Entity entity) {
+        return triplesMap.generateEntityTerm(entity);
+    }
+
+    @Override
+    public List<Resource> listEntityClasses() {
+        return triplesMap.listEntityClasses();
+    }
+
+    @Override
+    public Set<String> listReferencedProperties() {
+        return triplesMap.listReferencedProperties();
+    }
+
+    @Override
+    public String getUniqueId() {
+        return triplesMap.getUniqueId();
+    }
+}
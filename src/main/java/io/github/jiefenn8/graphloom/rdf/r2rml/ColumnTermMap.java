@@ -7,7 +7,6 @@ package io.github.jiefenn8.graphloom.rdf.r2rml;
 
 import com.google.gson.Gson;
 import io.github.jiefenn8.graphloom.api.inputsource.Entity;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.rdf.model.RDFNode;
 
 import java.util.Objects;
@@ -46,17 +45,25 @@ public class ColumnTermMap implements TermMap {
 
     @Override
     public RDFNode generateRDFTerm(Set<JoinCondition> joins, Entity entity) {
-        String alt = StringUtils.EMPTY;
+        String alt = null;
         for (JoinCondition join : joins) {
             if (join.getParent().equals(columnName)) {
                 alt = join.getChild();
             }
         }
+        if (alt == null) {
+            return null;
+        }
 
         String value = entity.getPropertyValue(alt);
         return value == null ? null : RDFTermHelper.asRDFTerm(value, termType);
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return Set.of(columnName);
+    }
+
     @Override
     public String toString() {
         return new Gson().toJson(this);
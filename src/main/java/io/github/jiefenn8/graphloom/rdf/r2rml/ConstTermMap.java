@@ -42,6 +42,11 @@ public class ConstTermMap implements TermMap {
         return generateRDFTerm(entity);
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return Set.of();
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
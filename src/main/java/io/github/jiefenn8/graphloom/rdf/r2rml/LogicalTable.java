@@ -11,13 +11,18 @@ import io.github.jiefenn8.graphloom.api.EntityMap;
 import io.github.jiefenn8.graphloom.api.EntityReference;
 import io.github.jiefenn8.graphloom.api.SourceMap;
 import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkType;
 import io.github.jiefenn8.graphloom.util.GsonHelper;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -25,6 +30,14 @@ import java.util.UUID;
  */
 public class LogicalTable implements SourceMap, EntityChild {
 
+    /**
+     * The name of the column selected by a high watermark query.
+     */
+    public static final String WATERMARK_COLUMN = "GRAPHLOOM_WATERMARK";
+    /**
+     * The name of the row count column selected by a high watermark query.
+     */
+    public static final String ROW_COUNT_COLUMN = "GRAPHLOOM_ROW_COUNT";
     private static final Logger LOGGER = LoggerFactory.getLogger(LogicalTable.class);
     private final UUID uuid;
     private final TriplesMap parent;
@@ -78,6 +91,18 @@ public class LogicalTable implements SourceMap, EntityChild {
         return uuid.toString();
     }
 
+    /**
+     * Returns the name of the marker column selected by a fused joint query
+     * for the parent at the given index. The marker is only null when no
+     * parent row matched the child row.
+     *
+     * @param index the index of the parent in the fused joint query
+     * @return the name of the marker column
+     */
+    public static String joinMarker(int index) {
+        return "GRAPHLOOM_JOIN_" + index;
+    }
+
     /**
      * Builder class for LogicalTable.
      */
@@ -134,28 +159,219 @@ public class LogicalTable implements SourceMap, EntityChild {
 
             String jointQuery = "SELECT child.* FROM " + prepareQuery(entityReference) + " AS child, ";
             jointQuery += prepareQuery(logicalTable.entityReference) + " AS parent";
-            jointQuery += " WHERE " + buildJoinStatement(joinConditions.iterator());
+            jointQuery += " WHERE " + buildJoinStatement("parent", joinConditions.iterator());
             String parentVersion = entityReference.getProperty("sqlVersion");
             this.entityReference = R2RMLFactory.createR2RMLView(jointQuery, parentVersion);
             return this;
         }
 
+        /**
+         * Builds a query config with a single query selecting every row of
+         * the current query or table once. Beside every child column, the
+         * query selects one marker column per given parent query or table
+         * named by {@link #joinMarker(int)} with the index of the parent;
+         * The marker is null when no parent row matches the child row through
+         * the join conditions of the parent. Each marker is a semi-join of
+         * its own; So parents with non-unique join keys never multiply the
+         * child rows.
+         *
+         * @param parents the list of parent query or table and the join
+         *                conditions to join each with
+         * @return this builder for fluent method chaining
+         */
+        public Builder withFusedJointQuery(List<Pair<LogicalTable, Set<JoinCondition>>> parents) {
+            if (parents.isEmpty()) {
+                throw new MapperException("Expected parents with fused joint query creation.");
+            }
+
+            StringBuilder select = new StringBuilder("SELECT child.*");
+            for (int i = 0; i < parents.size(); i++) {
+                Set<JoinCondition> joinConditions = parents.get(i).getRight();
+                if (joinConditions.isEmpty()) {
+                    throw new MapperException("Expected JoinConditions with joint query creation.");
+                }
+                String alias = "parent" + i;
+                select.append(", CASE WHEN EXISTS (SELECT 1 FROM ")
+                        .append(prepareQuery(parents.get(i).getLeft().entityReference)).append(" AS ").append(alias)
+                        .append(" WHERE ").append(buildJoinStatement(alias, joinConditions.iterator()))
+                        .append(") THEN 1 END AS ").append(quoteIdentifier(joinMarker(i)));
+            }
+            select.append(" FROM ").append(prepareQuery(entityReference)).append(" AS child");
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            this.entityReference = R2RMLFactory.createR2RMLView(select.toString(), parentVersion);
+            return this;
+        }
+
+        /**
+         * Builds a query config selecting only the given columns of the
+         * current query or table; So the source does not transfer any column
+         * that no term map or join condition references. The columns are
+         * selected in name order.
+         *
+         * @param columns the names of the columns to select
+         * @return this builder for fluent method chaining
+         */
+        public Builder withProjection(Set<String> columns) {
+            Objects.requireNonNull(columns, "Columns must not be null.");
+            if (columns.isEmpty()) {
+                throw new MapperException("Expected columns with projection creation.");
+            }
+
+            StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+            for (String column : new TreeSet<>(columns)) {
+                select.add("proj." + column);
+            }
+            String projectionQuery = select + " FROM " + prepareQuery(entityReference) + " AS proj";
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            this.entityReference = R2RMLFactory.createR2RMLView(projectionQuery, parentVersion);
+            return this;
+        }
+
+        /**
+         * Builds a query config selecting only the rows of the current query
+         * or table where every column of at least one of the given column
+         * sets is not null. Each column set holds the columns a subject map
+         * reads; So rows that cannot generate any subject are filtered out
+         * by the source instead of being transferred.
+         *
+         * @param columnSets the column sets of which one must be non-null
+         * @return this builder for fluent method chaining
+         */
+        public Builder withNotNullFilter(List<Set<String>> columnSets) {
+            Objects.requireNonNull(columnSets, "Column sets must not be null.");
+            if (columnSets.isEmpty() || columnSets.stream().anyMatch(Set::isEmpty)) {
+                throw new MapperException("Expected columns with not null filter creation.");
+            }
+
+            StringJoiner where = new StringJoiner(" OR ");
+            for (Set<String> columns : columnSets) {
+                StringJoiner notNull = new StringJoiner(" AND ", columnSets.size() > 1 ? "(" : "",
+                        columnSets.size() > 1 ? ")" : "");
+                for (String column : new TreeSet<>(columns)) {
+                    notNull.add("nn." + column + " IS NOT NULL");
+                }
+                where.add(notNull.toString());
+            }
+            String filterQuery = "SELECT nn.* FROM " + prepareQuery(entityReference) + " AS nn WHERE " + where;
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            this.entityReference = R2RMLFactory.createR2RMLView(filterQuery, parentVersion);
+            return this;
+        }
+
+        /**
+         * Builds a query config selecting only the rows of the current query
+         * or table with a watermark column value above the given low
+         * watermark and up to the given high watermark. Without a low
+         * watermark, every row up to the high watermark is selected. The
+         * watermarks are compared as literals of the given column type.
+         *
+         * @param watermarkColumn the column increasing with each new or
+         *                        changed row
+         * @param watermarkType   the SQL type of the watermark column
+         * @param lowWatermark    the value already mapped, or null
+         * @param highWatermark   the highest value to map
+         * @return this builder for fluent method chaining
+         */
+        public Builder withWatermarkRange(String watermarkColumn, WatermarkType watermarkType, String lowWatermark,
+                                          String highWatermark) {
+            Objects.requireNonNull(watermarkColumn, "Watermark column must not be null.");
+            Objects.requireNonNull(watermarkType, "Watermark type must not be null.");
+            Objects.requireNonNull(highWatermark, "High watermark must not be null.");
+
+            String column = "wm." + watermarkColumn;
+            String rangeQuery = "SELECT wm.* FROM " + prepareQuery(entityReference) + " AS wm WHERE ";
+            if (lowWatermark != null) {
+                rangeQuery += column + " > " + watermarkType.toSqlLiteral(lowWatermark) + " AND ";
+            }
+            rangeQuery += column + " <= " + watermarkType.toSqlLiteral(highWatermark);
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            this.entityReference = R2RMLFactory.createR2RMLView(rangeQuery, parentVersion);
+            return this;
+        }
+
+        /**
+         * Builds a query config selecting the highest value of the given
+         * watermark column in the current query or table as a single row with
+         * the {@link #WATERMARK_COLUMN} column; And the number of rows in it
+         * with the {@link #ROW_COUNT_COLUMN} column.
+         *
+         * @param watermarkColumn the column increasing with each new or
+         *                        changed row
+         * @return this builder for fluent method chaining
+         */
+        public Builder withHighWatermark(String watermarkColumn) {
+            Objects.requireNonNull(watermarkColumn, "Watermark column must not be null.");
+
+            String maxQuery = "SELECT MAX(wm." + watermarkColumn + ") AS " + quoteIdentifier(WATERMARK_COLUMN);
+            maxQuery += ", COUNT(*) AS " + quoteIdentifier(ROW_COUNT_COLUMN);
+            maxQuery += " FROM " + prepareQuery(entityReference) + " AS wm";
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            this.entityReference = R2RMLFactory.createR2RMLView(maxQuery, parentVersion);
+            return this;
+        }
+
+        /**
+         * Builds a query config selecting a single partition out of the given
+         * number of disjoint partitions of the current query or table. Rows
+         * are assigned to partitions by the modulo of the given partition
+         * column; Rows with a null partition column belong to the first
+         * partition. The partition info is kept on the query config as the
+         * partitionColumn, partitionIndex and partitionCount properties.
+         *
+         * @param partitionColumn the integer column to partition rows by
+         * @param partitionIndex  the zero based index of the partition to select
+         * @param partitionCount  the total number of partitions
+         * @return this builder for fluent method chaining
+         */
+        public Builder withPartition(String partitionColumn, int partitionIndex, int partitionCount) {
+            Objects.requireNonNull(partitionColumn, "Partition column must not be null.");
+            if (partitionCount <= 0 || partitionIndex < 0 || partitionIndex >= partitionCount) {
+                throw new MapperException("Expected partition index within partition count.");
+            }
+
+            String column = "part." + partitionColumn;
+            String partitionQuery = "SELECT part.* FROM " + prepareQuery(entityReference) + " AS part";
+            partitionQuery += " WHERE ABS(MOD(" + column + ", " + partitionCount + ")) = " + partitionIndex;
+            if (partitionIndex == 0) {
+                partitionQuery += " OR " + column + " IS NULL";
+            }
+            String parentVersion = entityReference.getProperty("sqlVersion");
+            R2RMLView r2rmlView = R2RMLFactory.createR2RMLView(partitionQuery, parentVersion);
+            r2rmlView.setProperty("partitionColumn", partitionColumn);
+            r2rmlView.setProperty("partitionIndex", String.valueOf(partitionIndex));
+            r2rmlView.setProperty("partitionCount", String.valueOf(partitionCount));
+            this.entityReference = r2rmlView;
+            return this;
+        }
+
         /**
          * Returns the ending query segment containing all the join conditions
          * recursively built from the given iterator of a join condition collection.
          *
-         * @param iterator of the join condition collection
+         * @param parentAlias the alias of the parent query or table
+         * @param iterator    of the join condition collection
          * @return the ending segment containing SQL built join conditions
          */
-        private String buildJoinStatement(Iterator<JoinCondition> iterator) {
+        private String buildJoinStatement(String parentAlias, Iterator<JoinCondition> iterator) {
             JoinCondition join = iterator.next();
-            String joinStatement = "child." + join.getChild() + "=parent." + join.getParent();
+            String joinStatement = "child." + join.getChild() + "=" + parentAlias + "." + join.getParent();
             if (iterator.hasNext()) {
-                joinStatement = joinStatement.concat(" AND " + buildJoinStatement(iterator));
+                joinStatement = joinStatement.concat(" AND " + buildJoinStatement(parentAlias, iterator));
             }
             return joinStatement;
         }
 
+        /**
+         * Returns the given name as a SQL quoted identifier; So engines that
+         * fold the case of unquoted identifiers keep the name as given.
+         *
+         * @param name the name to quote
+         * @return the quoted SQL identifier
+         */
+        private String quoteIdentifier(String name) {
+            return "\"" + name.replace("\"", "\"\"") + "\"";
+        }
+
         /**
          * Returns a prepared query using the query/table in the given source
          * config. If the query config is a r2rml view, wrap the query before
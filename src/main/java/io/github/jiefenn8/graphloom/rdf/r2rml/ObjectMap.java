@@ -14,6 +14,7 @@ import io.github.jiefenn8.graphloom.util.GsonHelper;
 import org.apache.jena.rdf.model.RDFNode;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -57,6 +58,11 @@ public class ObjectMap implements NodeMap, EntityChild {
         return termMap.generateRDFTerm(entity);
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return termMap.listReferencedProperties();
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
@@ -16,6 +16,7 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -55,6 +56,11 @@ public class PredicateMap implements RelationMap, EntityChild {
         return this;
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return termMap.listReferencedProperties();
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
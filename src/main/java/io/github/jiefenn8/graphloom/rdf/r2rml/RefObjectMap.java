@@ -91,15 +91,46 @@ public class RefObjectMap implements NodeMap, EntityChild {
         return parent;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With join conditions, the parent entity term is generated from the
+     * child columns of the joins; Otherwise the parent shares the logical
+     * table and its entity term is generated from the given entity as is.
+     */
     @Override
     public RDFNode generateNodeTerm(Entity entity) {
-        RDFNode term = parentTriplesMap.generateEntityTerm(joinConditions, entity);
+        RDFNode term = hasJoinCondition()
+                ? parentTriplesMap.generateEntityTerm(joinConditions, entity)
+                : parentTriplesMap.generateEntityTerm(entity);
+        if (term == null) {
+            return null;
+        }
         if (term.isLiteral()) {
             throw new MapperException("RefObjectMap should only return IRI.");
         }
         return term.asResource();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With join conditions, the parent entity term is generated from the
+     * child columns of the joins; Otherwise from the columns of the parent
+     * subject map.
+     */
+    @Override
+    public Set<String> listReferencedProperties() {
+        if (!hasJoinCondition()) {
+            return parentTriplesMap.listReferencedProperties();
+        }
+        Set<String> properties = new HashSet<>();
+        for (JoinCondition joinCondition : joinConditions) {
+            properties.add(joinCondition.getChild());
+        }
+        return Set.copyOf(properties);
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
@@ -51,6 +51,9 @@ public class SubjectMap implements PropertyMap, EntityChild {
     @Override
     public Resource generateEntityTerm(Entity entity) {
         RDFNode term = termMap.generateRDFTerm(entity);
+        if (term == null) {
+            return null;
+        }
         if (term.isLiteral()) {
             throw new MapperException("SubjectMap can only return IRI or BlankNode.");
         }
@@ -59,6 +62,9 @@ public class SubjectMap implements PropertyMap, EntityChild {
 
     public Resource generateEntityTerm(Set<JoinCondition> joins, Entity entity) {
         RDFNode term = termMap.generateRDFTerm(joins, entity);
+        if (term == null) {
+            return null;
+        }
         if (term.isLiteral()) {
             throw new MapperException("SubjectMap can only return IRI or BlankNode.");
         }
@@ -86,6 +92,11 @@ public class SubjectMap implements PropertyMap, EntityChild {
         return parent;
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return termMap.listReferencedProperties();
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
@@ -10,6 +10,7 @@ import io.github.jiefenn8.graphloom.api.inputsource.Entity;
 import io.github.jiefenn8.graphloom.exceptions.MapperException;
 import org.apache.jena.rdf.model.RDFNode;
 
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -60,13 +61,16 @@ public class TemplateTermMap implements TermMap {
             throw new MapperException("Template given cannot be matched. Must have: {name}.");
         }
 
-        String alt = "";
+        String alt = null;
         for (JoinCondition join : joins) {
             String parent = join.getParent();
             if (parent.equals(matcher.group(1))) {
                 alt = join.getChild();
             }
         }
+        if (alt == null) {
+            return null;
+        }
 
         String value = entity.getPropertyValue(alt);
         return value == null ? null : createRDFTerm(template, matcher, value);
@@ -77,6 +81,16 @@ public class TemplateTermMap implements TermMap {
         return RDFTermHelper.asRDFTerm(term, termType);
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        Set<String> properties = new HashSet<>();
+        Matcher matcher = pattern.matcher(template);
+        while (matcher.find()) {
+            properties.add(matcher.group(1));
+        }
+        return Set.copyOf(properties);
+    }
+
     @Override
     public String toString() {
         return new Gson().toJson(this);
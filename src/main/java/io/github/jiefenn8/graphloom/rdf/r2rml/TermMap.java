@@ -5,6 +5,7 @@
 
 package io.github.jiefenn8.graphloom.rdf.r2rml;
 
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
 import io.github.jiefenn8.graphloom.api.inputsource.Entity;
 import org.apache.jena.rdf.model.RDFNode;
 
@@ -35,7 +36,9 @@ public interface TermMap {
      * the property typically used to match a column in entity
      * is mapped as another name; So providing a join condition
      * is needed to determine the best id to use to get the value
-     * from entity.
+     * from entity. No term is generated if none of the joins maps
+     * the property read by this term map; So only the child
+     * properties of the joins are ever read from the entity.
      *
      * @param joins  the collection of join conditions to get mapped id
      * @param entity containing any data needed to generate term
@@ -43,6 +46,17 @@ public interface TermMap {
      */
     RDFNode generateRDFTerm(Set<JoinCondition> joins, Entity entity);
 
+    /**
+     * Returns the names of all entity properties, such as columns, that
+     * this term map reads to generate a term; Or the unknown marker of
+     * {@link ReferencedProperties} if they cannot be listed.
+     *
+     * @return the set of entity property names read by this term map
+     */
+    default Set<String> listReferencedProperties() {
+        return ReferencedProperties.UNKNOWN;
+    }
+
     /**
      * The TermType to return generated term as.
      */
@@ -96,6 +96,11 @@ public class TriplesMap implements EntityMap {
         return subjectMap.listEntityClasses();
     }
 
+    @Override
+    public Set<String> listReferencedProperties() {
+        return subjectMap.listReferencedProperties();
+    }
+
     @Override
     public String toString() {
         return GsonHelper.loadTypeAdapters(new GsonBuilder())
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.util.ParallelGzipOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * This class defines the base methods of a {@link TripleSink} that serialise
+ * the received triples straight into a {@link WritableByteChannel}. Bytes are
+ * staged in a reusable direct buffer and the UTF-8 encoding of recently used
+ * terms are cached; So repeated IRIs such as predicates and classes are only
+ * ever encoded once.
+ * <p>
+ * Note: Instances of this class are not thread-safe; And must be closed
+ * after mapping to release the channel and complete any compressed output.
+ */
+public abstract class ByteChannelSink implements TripleSink, Closeable {
+
+    protected static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int TERM_CACHE_SIZE = 4096;
+    private static final String GZIP_EXTENSION = ".gz";
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final Map<String, byte[]> termCache = new LinkedHashMap<>(TERM_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > TERM_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Constructs a ByteChannelSink with the specified channel to write into
+     * and the capacity of the direct buffer used to stage the bytes.
+     *
+     * @param channel    the channel to write the serialised triples into
+     * @param bufferSize the capacity of the buffer in bytes
+     */
+    protected ByteChannelSink(WritableByteChannel channel, int bufferSize) {
+        this.channel = Objects.requireNonNull(channel, "Channel must not be null.");
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive.");
+        }
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a channel writing into the file at the given path. The file is
+     * created or truncated if it already exists. If the file name ends with
+     * ".gz", the bytes written are gzip compressed in parallel.
+     *
+     * @param path the path of the file to write into
+     * @return the channel writing into the file
+     * @throws IOException if the file cannot be opened
+     * @see ParallelGzipOutputStream
+     */
+    protected static WritableByteChannel openChannel(Path path) throws IOException {
+        if (path.toString().endsWith(GZIP_EXTENSION)) {
+            return Channels.newChannel(new ParallelGzipOutputStream(Files.newOutputStream(path)));
+        }
+        return FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the given term formatted by the given
+     * function into the buffer; Reusing the cached encoding if the term was
+     * recently written.
+     *
+     * @param term      the term to write
+     * @param formatter the function to format the term with
+     */
+    protected void writeCached(String term, Function<String, String> formatter) {
+        byte[] bytes = termCache.get(term);
+        if (bytes == null) {
+            bytes = formatter.apply(term).getBytes(StandardCharsets.UTF_8);
+            termCache.put(term, bytes);
+        }
+        write(bytes);
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the given string into the buffer without
+     * caching it.
+     *
+     * @param value the string to write
+     */
+    protected void write(String value) {
+        write(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the given bytes into the buffer; Draining the buffer into the
+     * channel whenever it fills up.
+     *
+     * @param bytes the bytes to write
+     */
+    protected void write(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes a single ASCII character into the buffer.
+     *
+     * @param value the character to write
+     */
+    protected void write(char value) {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Drains every byte staged in the buffer into the channel.
+     */
+    protected void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new MapperException("Failed to write triples to output channel.", e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void finish() {
+        drain();
+    }
+
+    /**
+     * Discards the bytes still staged in the buffer and closes the channel;
+     * So the output of the failed mapping is left as written so far.
+     */
+    @Override
+    public void abort() {
+        buffer.clear();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new MapperException("Failed to close output channel.", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        drain();
+        channel.close();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of {@link TripleSink} interface that adds every received
+ * triple into a Jena {@link Model}.
+ */
+public class ModelSink implements TripleSink {
+
+    private final Model model;
+
+    /**
+     * Constructs a ModelSink with the specified model to add the received
+     * triples into.
+     *
+     * @param model the model to populate
+     */
+    public ModelSink(Model model) {
+        this.model = Objects.requireNonNull(model, "Model must not be null.");
+    }
+
+    @Override
+    public void start(Map<String, String> nsPrefixMap) {
+        model.setNsPrefixes(nsPrefixMap);
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        model.add(subject, predicate, object);
+    }
+
+    /**
+     * Returns the model containing all the triples received by this sink.
+     *
+     * @return the model populated by this sink
+     */
+    public Model getModel() {
+        return model;
+    }
+}
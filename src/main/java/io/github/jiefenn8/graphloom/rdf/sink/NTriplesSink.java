@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Implementation of {@link ByteChannelSink} that serialises each received
+ * triple as a N-Triples line; Or as a N-Quads line when a graph name is
+ * given.
+ */
+public class NTriplesSink extends ByteChannelSink {
+
+    private final byte[] graphName;
+
+    /**
+     * Constructs a NTriplesSink with the specified channel to write
+     * N-Triples into.
+     *
+     * @param channel the channel to write into
+     */
+    public NTriplesSink(WritableByteChannel channel) {
+        this(channel, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a NTriplesSink with the specified channel, the graph name
+     * to write N-Quads with and the capacity of the buffer in bytes. If the
+     * graph name is null, N-Triples is written instead.
+     *
+     * @param channel    the channel to write into
+     * @param graphName  the IRI of the graph to write each triple into
+     * @param bufferSize the capacity of the buffer in bytes
+     */
+    public NTriplesSink(WritableByteChannel channel, String graphName, int bufferSize) {
+        super(channel, bufferSize);
+        this.graphName = graphName == null ? null : TermFormat.formatIRI(graphName).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a NTriplesSink writing N-Triples into the file at the given
+     * path. The file is created or truncated if it already exists; And is
+     * gzip compressed if its name ends with ".gz".
+     *
+     * @param path the path of the file to write into
+     * @return the sink writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static NTriplesSink open(Path path) throws IOException {
+        return new NTriplesSink(openChannel(path));
+    }
+
+    /**
+     * Returns a NTriplesSink writing N-Quads in the given graph into the
+     * file at the given path. The file is created or truncated if it already
+     * exists; And is gzip compressed if its name ends with ".gz".
+     *
+     * @param path      the path of the file to write into
+     * @param graphName the IRI of the graph to write each triple into
+     * @return the sink writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static NTriplesSink open(Path path, String graphName) throws IOException {
+        return new NTriplesSink(openChannel(path), graphName, DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        writeResource(subject);
+        write(' ');
+        writeCached(predicate.getURI(), TermFormat::formatIRI);
+        write(' ');
+        if (object.isLiteral()) {
+            write(TermFormat.formatLiteral(object.asLiteral()));
+        } else {
+            writeResource(object.asResource());
+        }
+        if (graphName != null) {
+            write(' ');
+            write(graphName);
+        }
+        write(' ');
+        write('.');
+        write('\n');
+    }
+
+    private void writeResource(Resource resource) {
+        if (resource.isAnon()) {
+            write(TermFormat.formatBlankNode(resource));
+        } else {
+            writeCached(resource.getURI(), TermFormat::formatIRI);
+        }
+    }
+}
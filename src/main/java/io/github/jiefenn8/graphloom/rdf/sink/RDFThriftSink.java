@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.util.ParallelGzipOutputStream;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.thrift.BinRDF;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of {@link TripleSink} interface that encodes the received
+ * triples incrementally as binary RDF Thrift. The output can be reloaded
+ * without any text parsing with {@link BinRDF#inputStreamToStream}.
+ */
+public class RDFThriftSink implements TripleSink, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private final OutputStream outputStream;
+    private final StreamRDF streamRDF;
+
+    /**
+     * Constructs a RDFThriftSink with the specified output stream to encode
+     * the triples into.
+     *
+     * @param outputStream the stream to write into
+     */
+    public RDFThriftSink(OutputStream outputStream) {
+        Objects.requireNonNull(outputStream, "Output stream must not be null.");
+        this.outputStream = new BufferedOutputStream(outputStream, DEFAULT_BUFFER_SIZE);
+        streamRDF = BinRDF.streamToOutputStream(this.outputStream);
+    }
+
+    /**
+     * Returns a RDFThriftSink writing into the file at the given path. The
+     * file is created or truncated if it already exists; And is gzip
+     * compressed if its name ends with ".gz".
+     *
+     * @param path the path of the file to write into
+     * @return the sink writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static RDFThriftSink open(Path path) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(path);
+        if (path.toString().endsWith(".gz")) {
+            outputStream = new ParallelGzipOutputStream(outputStream);
+        }
+        return new RDFThriftSink(outputStream);
+    }
+
+    @Override
+    public void start(Map<String, String> nsPrefixMap) {
+        streamRDF.start();
+        nsPrefixMap.forEach(streamRDF::prefix);
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        streamRDF.triple(Triple.create(subject.asNode(), predicate.asNode(), object.asNode()));
+    }
+
+    @Override
+    public void finish() {
+        streamRDF.finish();
+    }
+
+    @Override
+    public void abort() {
+        try {
+            outputStream.close();
+        } catch (IOException e) {
+            throw new MapperException("Failed to close output stream.", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+}
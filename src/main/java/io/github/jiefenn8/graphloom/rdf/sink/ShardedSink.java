@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of {@link TripleSink} interface that partitions the received
+ * triples over a number of shard sinks by the hash of their subject. Every
+ * triple of a subject; Including its class and reference object triples, is
+ * routed to the same shard, so each shard can be bulk loaded independently
+ * and in parallel.
+ */
+public class ShardedSink implements TripleSink, Closeable {
+
+    private final List<TripleSink> shards;
+
+    /**
+     * Constructs a ShardedSink with the specified list of sinks to use as
+     * the shards.
+     *
+     * @param shards the sinks to partition the triples over
+     */
+    public ShardedSink(List<? extends TripleSink> shards) {
+        Objects.requireNonNull(shards, "Shards must not be null.");
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Must provide at least one shard.");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Returns a ShardedSink writing N-Triples into the given number of shard
+     * files in the given directory. The shard files are named "shard-N.nt"
+     * or "shard-N.nt.gz" when compressed.
+     *
+     * @param directory  the directory to create the shard files in
+     * @param shardCount the number of shard files
+     * @param compressed true to gzip compress each shard file
+     * @return the sink writing into the shard files
+     * @throws IOException if any of the shard files cannot be opened
+     */
+    public static ShardedSink openNTriples(Path directory, int shardCount, boolean compressed) throws IOException {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive.");
+        }
+        String extension = compressed ? ".nt.gz" : ".nt";
+        List<NTriplesSink> shards = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                shards.add(NTriplesSink.open(directory.resolve("shard-" + i + extension)));
+            }
+        } catch (IOException e) {
+            for (NTriplesSink shard : shards) {
+                shard.close();
+            }
+            throw e;
+        }
+        return new ShardedSink(shards);
+    }
+
+    /**
+     * Returns the index of the shard that the given subject is routed to.
+     *
+     * @param subject the subject of the triple
+     * @return the index of the shard
+     */
+    public int shardOf(Resource subject) {
+        String key = subject.isAnon() ? subject.asNode().getBlankNodeLabel() : subject.getURI();
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    /**
+     * Returns the number of shards in this sink.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public void start(Map<String, String> nsPrefixMap) {
+        shards.forEach((s) -> s.start(nsPrefixMap));
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        shards.get(shardOf(subject)).accept(subject, predicate, object);
+    }
+
+    @Override
+    public void finish() {
+        shards.forEach(TripleSink::finish);
+    }
+
+    @Override
+    public void abort() {
+        RuntimeException exception = null;
+        for (TripleSink shard : shards) {
+            try {
+                shard.abort();
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (TripleSink shard : shards) {
+            if (shard instanceof Closeable) {
+                try {
+                    ((Closeable) shard).close();
+                } catch (IOException e) {
+                    if (exception == null) {
+                        exception = e;
+                    } else {
+                        exception.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TripleSink} interface that loads the received
+ * triples straight into the default graph of a TDB2 dataset. Triples are
+ * committed in large batched write transactions instead of one transaction
+ * per triple; So a mapping can be loaded without writing and re-reading an
+ * intermediate file.
+ * <p>
+ * TDB2 write transactions are bound to the thread that began them; So every
+ * transaction is begun, written and committed on a single writer thread of
+ * this sink. Triples received from any thread are handed over to it in
+ * chunks through a bounded queue; So this sink can be given to a mapper
+ * mapping concurrently or through a staged pipeline.
+ */
+public class TDB2Sink implements TripleSink, Closeable {
+
+    public static final int DEFAULT_BATCH_SIZE = 500_000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TDB2Sink.class);
+    private static final int CHUNK_SIZE = 1024;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long POLL_MILLIS = 100;
+    private static final Triple[] FINISH = new Triple[0];
+    private static final Triple[] ABORT = new Triple[0];
+    private final Dataset dataset;
+    private final int batchSize;
+    private final boolean ownsDataset;
+    private final BlockingQueue<Triple[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private ExecutorService writerExecutor;
+    private Future<?> writer;
+    private Triple[] chunk = new Triple[CHUNK_SIZE];
+    private int chunkSize;
+    private Graph graph;
+    private long batchCount;
+    private long totalCount;
+
+    /**
+     * Constructs a TDB2Sink with the specified TDB2 dataset to load into and
+     * the number of triples to commit in each transaction.
+     *
+     * @param dataset   the dataset to load the triples into
+     * @param batchSize the number of triples in each transaction
+     */
+    public TDB2Sink(Dataset dataset, int batchSize) {
+        this(dataset, batchSize, false);
+    }
+
+    private TDB2Sink(Dataset dataset, int batchSize, boolean ownsDataset) {
+        this.dataset = Objects.requireNonNull(dataset, "Dataset must not be null.");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.batchSize = batchSize;
+        this.ownsDataset = ownsDataset;
+    }
+
+    /**
+     * Returns a TDB2Sink loading into the TDB2 database at the given
+     * directory with the default batch size. The database is created if it
+     * does not exist and closed when this sink is closed.
+     *
+     * @param location the directory of the TDB2 database
+     * @return the sink loading into the database
+     */
+    public static TDB2Sink connect(String location) {
+        return connect(location, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a TDB2Sink loading into the TDB2 database at the given
+     * directory with the given batch size. The database is created if it
+     * does not exist and closed when this sink is closed.
+     *
+     * @param location  the directory of the TDB2 database
+     * @param batchSize the number of triples in each transaction
+     * @return the sink loading into the database
+     */
+    public static TDB2Sink connect(String location, int batchSize) {
+        return new TDB2Sink(TDB2Factory.connectDataset(location), batchSize, true);
+    }
+
+    @Override
+    public synchronized void start(Map<String, String> nsPrefixMap) {
+        startWriter(nsPrefixMap);
+    }
+
+    @Override
+    public synchronized void accept(Resource subject, Property predicate, RDFNode object) {
+        if (writer == null) {
+            startWriter(null);
+        }
+        chunk[chunkSize++] = Triple.create(subject.asNode(), predicate.asNode(), object.asNode());
+        if (chunkSize == CHUNK_SIZE) {
+            handOver(chunk);
+            chunk = new Triple[CHUNK_SIZE];
+            chunkSize = 0;
+        }
+    }
+
+    @Override
+    public synchronized void finish() {
+        if (writer == null) {
+            return;
+        }
+        if (chunkSize > 0) {
+            handOver(Arrays.copyOf(chunk, chunkSize));
+            chunkSize = 0;
+        }
+        handOver(FINISH);
+        awaitWriter();
+        LOGGER.info("Loaded a total of {} triples into TDB2 dataset.", totalCount);
+    }
+
+    /**
+     * Aborts the uncommitted batch of the failed mapping; Every batch already
+     * committed stays in the dataset.
+     */
+    @Override
+    public synchronized void abort() {
+        if (writer == null) {
+            return;
+        }
+        chunkSize = 0;
+        queue.clear();
+        handOver(ABORT);
+        awaitWriter();
+    }
+
+    /**
+     * Aborts any uncommitted batch left open by an incomplete mapping; And
+     * closes the dataset if it was opened by this sink.
+     */
+    @Override
+    public synchronized void close() {
+        abort();
+        if (ownsDataset) {
+            dataset.close();
+        }
+    }
+
+    /**
+     * Starts the writer thread loading the chunks handed over to it; Setting
+     * the given namespace prefixes in its first transaction if given.
+     */
+    private void startWriter(Map<String, String> nsPrefixMap) {
+        writerExecutor = Executors.newSingleThreadExecutor((r) -> {
+            Thread thread = new Thread(r, "graphloom-tdb2-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer = writerExecutor.submit(() -> {
+            write(nsPrefixMap);
+            return null;
+        });
+    }
+
+    /**
+     * Puts the given chunk on the queue of the writer thread; Waiting while
+     * the queue is full and rethrowing the failure of the writer thread if
+     * it stopped.
+     */
+    private void handOver(Triple[] triples) {
+        try {
+            while (!queue.offer(triples, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    awaitWriter();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while handing triples to TDB2 writer.", e);
+        }
+    }
+
+    /**
+     * Waits for the writer thread to stop; Rethrowing the exception it
+     * failed with.
+     */
+    private void awaitWriter() {
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MapperException("Interrupted while waiting on TDB2 writer.", e);
+        } catch (ExecutionException e) {
+            throw new MapperException("Failed to load triples into TDB2 dataset.", e.getCause());
+        } finally {
+            if (writer.isDone()) {
+                writerExecutor.shutdown();
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Loads every chunk taken from the queue until the mapping finished or
+     * aborted. Runs on the writer thread only.
+     */
+    private void write(Map<String, String> nsPrefixMap) throws InterruptedException {
+        try {
+            if (nsPrefixMap != null) {
+                begin();
+                dataset.getDefaultModel().setNsPrefixes(nsPrefixMap);
+            }
+            for (Triple[] triples = queue.take(); triples != FINISH; triples = queue.take()) {
+                if (triples == ABORT) {
+                    abortBatch();
+                    return;
+                }
+                for (Triple triple : triples) {
+                    if (graph == null) {
+                        begin();
+                    }
+                    graph.add(triple);
+                    if (++batchCount >= batchSize) {
+                        commit();
+                    }
+                }
+            }
+            if (graph != null) {
+                commit();
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            abortBatch();
+            throw e;
+        }
+    }
+
+    private void begin() {
+        dataset.begin(ReadWrite.WRITE);
+        graph = dataset.asDatasetGraph().getDefaultGraph();
+    }
+
+    private void commit() {
+        dataset.commit();
+        dataset.end();
+        totalCount += batchCount;
+        LOGGER.debug("Committed batch of {} triples. Total loaded: {}.", batchCount, totalCount);
+        batchCount = 0;
+        graph = null;
+    }
+
+    private void abortBatch() {
+        if (graph != null) {
+            LOGGER.warn("Aborting uncommitted batch of {} triples.", batchCount);
+            dataset.abort();
+            dataset.end();
+            batchCount = 0;
+            graph = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Resource;
+
+/**
+ * This class defines the base methods in formatting RDF terms into their
+ * N-Triples string form.
+ */
+class TermFormat {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Returns the given IRI enclosed in angle brackets. An IRI holding any
+     * character not allowed in an IRI reference is rejected; As escaping it
+     * would still be read back as the same character by a parser.
+     *
+     * @param iri the IRI to format
+     * @return the formatted IRI
+     */
+    static String formatIRI(String iri) {
+        for (int i = 0; i < iri.length(); i++) {
+            char c = iri.charAt(i);
+            if (c <= 0x20 || "<>\"{}|^`\\".indexOf(c) >= 0) {
+                throw new MapperException("IRI <" + iri + "> holds a character not allowed in an IRI.");
+            }
+        }
+        return "<" + iri + ">";
+    }
+
+    /**
+     * Returns the given literal as a quoted string with its language tag
+     * or datatype IRI if there is one. The datatype is omitted for simple
+     * xsd:string literals.
+     *
+     * @param literal the literal to format
+     * @return the formatted literal
+     */
+    static String formatLiteral(Literal literal) {
+        String lexicalForm = literal.getLexicalForm();
+        StringBuilder builder = new StringBuilder(lexicalForm.length() + 2).append('"');
+        for (int i = 0; i < lexicalForm.length(); i++) {
+            char c = lexicalForm.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> builder.append(c);
+            }
+        }
+        builder.append('"');
+
+        String language = literal.getLanguage();
+        String datatypeURI = literal.getDatatypeURI();
+        if (language != null && !language.isEmpty()) {
+            builder.append('@').append(language);
+        } else if (datatypeURI != null && !datatypeURI.equals(XSDDatatype.XSDstring.getURI())) {
+            builder.append("^^").append(formatIRI(datatypeURI));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the blank node label of the given resource prefixed with
+     * "_:". Any character in the label that is not a letter or digit is
+     * encoded as a hex sequence to keep the label valid.
+     *
+     * @param resource the blank node to format
+     * @return the formatted blank node
+     */
+    static String formatBlankNode(Resource resource) {
+        String label = resource.asNode().getBlankNodeLabel();
+        StringBuilder builder = new StringBuilder(label.length() + 3).append("_:B");
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < 0x80 && Character.isLetterOrDigit(c) && c != 'X') {
+                builder.append(c);
+            } else {
+                builder.append('X').append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF])
+                        .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link ByteChannelSink} that serialises the received
+ * triples as Turtle. IRIs are shortened with the namespace prefixes given
+ * at the start of mapping; And consecutive triples sharing the same subject
+ * are grouped with ";" while those also sharing the same predicate are
+ * grouped with ",".
+ */
+public class TurtleSink extends ByteChannelSink {
+
+    private static final Pattern LOCAL_NAME = Pattern.compile("[A-Za-z0-9_]([A-Za-z0-9_.-]*[A-Za-z0-9_-])?");
+    private final Map<String, String> nsPrefixMap = new TreeMap<>();
+    private final Function<String, String> iriFormatter = this::formatIRI;
+    private Resource lastSubject;
+    private Property lastPredicate;
+
+    /**
+     * Constructs a TurtleSink with the specified channel to write Turtle
+     * into.
+     *
+     * @param channel the channel to write into
+     */
+    public TurtleSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a TurtleSink with the specified channel to write Turtle
+     * into and the capacity of the buffer in bytes.
+     *
+     * @param channel    the channel to write into
+     * @param bufferSize the capacity of the buffer in bytes
+     */
+    public TurtleSink(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    /**
+     * Returns a TurtleSink writing into the file at the given path. The file
+     * is created or truncated if it already exists; And is gzip compressed if
+     * its name ends with ".gz".
+     *
+     * @param path the path of the file to write into
+     * @return the sink writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static TurtleSink open(Path path) throws IOException {
+        return new TurtleSink(openChannel(path));
+    }
+
+    @Override
+    public void start(Map<String, String> nsPrefixMap) {
+        this.nsPrefixMap.putAll(nsPrefixMap);
+        this.nsPrefixMap.forEach((prefix, namespace) ->
+                write("@prefix " + prefix + ": " + TermFormat.formatIRI(namespace) + " .\n"));
+        if (!nsPrefixMap.isEmpty()) {
+            write('\n');
+        }
+    }
+
+    @Override
+    public void accept(Resource subject, Property predicate, RDFNode object) {
+        if (subject.equals(lastSubject)) {
+            if (predicate.equals(lastPredicate)) {
+                write(" , ");
+            } else {
+                write(" ;\n    ");
+                writePredicate(predicate);
+            }
+        } else {
+            if (lastSubject != null) {
+                write(" .\n");
+            }
+            writeResource(subject);
+            write(' ');
+            writePredicate(predicate);
+        }
+
+        if (object.isLiteral()) {
+            write(TermFormat.formatLiteral(object.asLiteral()));
+        } else {
+            writeResource(object.asResource());
+        }
+        lastSubject = subject;
+        lastPredicate = predicate;
+    }
+
+    @Override
+    public void finish() {
+        if (lastSubject != null) {
+            write(" .\n");
+            lastSubject = null;
+            lastPredicate = null;
+        }
+        super.finish();
+    }
+
+    private void writePredicate(Property predicate) {
+        if (predicate.equals(RDF.type)) {
+            write('a');
+        } else {
+            writeCached(predicate.getURI(), iriFormatter);
+        }
+        write(' ');
+    }
+
+    private void writeResource(Resource resource) {
+        if (resource.isAnon()) {
+            write(TermFormat.formatBlankNode(resource));
+        } else {
+            writeCached(resource.getURI(), iriFormatter);
+        }
+    }
+
+    /**
+     * Returns the given IRI as a prefixed name using the longest matching
+     * namespace. If no namespace matches or the remaining local name cannot
+     * be written as a prefixed name, returns the full IRI in angle brackets.
+     *
+     * @param iri the IRI to format
+     * @return the formatted IRI
+     */
+    private String formatIRI(String iri) {
+        String match = null;
+        String namespace = null;
+        for (Map.Entry<String, String> entry : nsPrefixMap.entrySet()) {
+            String candidate = entry.getValue();
+            if (iri.startsWith(candidate) && (namespace == null || candidate.length() > namespace.length())) {
+                match = entry.getKey();
+                namespace = candidate;
+            }
+        }
+
+        if (match != null) {
+            String localName = iri.substring(namespace.length());
+            if (LOCAL_NAME.matcher(localName).matches()) {
+                return match + ":" + localName;
+            }
+        }
+        return TermFormat.formatIRI(iri);
+    }
+}
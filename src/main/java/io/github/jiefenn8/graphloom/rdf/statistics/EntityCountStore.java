@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.statistics;
+
+/**
+ * This interface defines the base methods to keep the number of entities
+ * counted by each base scan of a run; So the next run can order its scans by
+ * their actual cost instead of the estimate of the input source. Each scan
+ * is keyed by the id of its triples map, the payload of its logical table
+ * and its partition index; So configs reusing a triples map id for another
+ * logical table never share counts. The base scans of a run save their
+ * counts concurrently; So implementations must be thread-safe.
+ */
+public interface EntityCountStore {
+
+    /**
+     * Returns the number of entities last counted by the scan with the given
+     * key.
+     *
+     * @param scanKey the key of the scan
+     * @return the saved entity count, or null if the scan never completed
+     */
+    Long load(String scanKey);
+
+    /**
+     * Saves the given number of entities counted by the scan with the given
+     * key, replacing any count saved before.
+     *
+     * @param scanKey     the key of the scan
+     * @param entityCount the number of entities read by the scan
+     */
+    void save(String scanKey, long entityCount);
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.statistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link EntityCountStore} interface that keeps the entity
+ * count of every scan in memory. The counts are lost with the instance; So
+ * only runs sharing the same instance benefit from them.
+ */
+public class InMemoryEntityCountStore implements EntityCountStore {
+
+    private final Map<String, Long> entityCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public Long load(String scanKey) {
+        return entityCounts.get(scanKey);
+    }
+
+    @Override
+    public void save(String scanKey, long entityCount) {
+        entityCounts.put(scanKey, entityCount);
+    }
+}
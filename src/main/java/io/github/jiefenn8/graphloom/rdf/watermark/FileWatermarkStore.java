@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.watermark;
+
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Implementation of {@link WatermarkStore} interface that keeps the high
+ * watermark of every triples map in a properties file. Each save rewrites
+ * the file beside it first and moves it into place; So a run that fails half
+ * way never leaves a partly written store behind.
+ */
+public class FileWatermarkStore implements WatermarkStore {
+
+    private final Path path;
+
+    /**
+     * Constructs a FileWatermarkStore with the specified path of the
+     * properties file to keep the watermarks in. The file is created on the
+     * first save if it does not exist.
+     *
+     * @param path the path of the properties file
+     */
+    public FileWatermarkStore(Path path) {
+        this.path = Objects.requireNonNull(path, "Path must not be null.");
+    }
+
+    @Override
+    public synchronized String load(String triplesMapId) {
+        return read().getProperty(triplesMapId);
+    }
+
+    @Override
+    public synchronized void save(String triplesMapId, String watermark) {
+        Properties watermarks = read();
+        watermarks.setProperty(triplesMapId, watermark);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            watermarks.store(writer, "GraphLoom high watermarks");
+        } catch (IOException e) {
+            throw new MapperException("Failed to write watermark store.", e);
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new MapperException("Failed to write watermark store.", e);
+        }
+    }
+
+    /**
+     * Returns the watermarks currently kept in the properties file; Or none
+     * if the file does not exist yet.
+     */
+    private Properties read() {
+        Properties watermarks = new Properties();
+        if (Files.notExists(path)) {
+            return watermarks;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            watermarks.load(reader);
+            return watermarks;
+        } catch (IOException e) {
+            throw new MapperException("Failed to read watermark store.", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.watermark;
+
+/**
+ * This interface defines the base methods to persist the high watermark of
+ * each incrementally mapped triples map between runs. A watermark is the
+ * highest watermark column value already mapped; So the next run only maps
+ * the rows above it.
+ */
+public interface WatermarkStore {
+
+    /**
+     * Returns the high watermark saved for the triples map with the given id.
+     *
+     * @param triplesMapId the id of the triples map
+     * @return the saved watermark, or null if the triples map was never mapped
+     */
+    String load(String triplesMapId);
+
+    /**
+     * Saves the given high watermark of the triples map with the given id,
+     * replacing any watermark saved before.
+     *
+     * @param triplesMapId the id of the triples map
+     * @param watermark    the highest watermark column value mapped
+     */
+    void save(String triplesMapId, String watermark);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.watermark;
+
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+
+import java.math.BigDecimal;
+
+/**
+ * This enumeration defines the SQL types a watermark column can have; So a
+ * watermark read back from the source as text is compared to the column as
+ * a literal of the column type instead of as a string.
+ * <p>
+ * NUMERIC : An integer or decimal column; Such as an increasing id.
+ * TIMESTAMP : A timestamp column; Such as a last updated time.
+ * STRING : A character column compared in the collation of the source.
+ */
+public enum WatermarkType {
+
+    NUMERIC {
+        @Override
+        public String toSqlLiteral(String value) {
+            try {
+                return new BigDecimal(value).toPlainString();
+            } catch (NumberFormatException e) {
+                throw new MapperException("Expected numeric watermark but found '" + value + "'.", e);
+            }
+        }
+    },
+    TIMESTAMP {
+        @Override
+        public String toSqlLiteral(String value) {
+            return "TIMESTAMP " + STRING.toSqlLiteral(value);
+        }
+    },
+    STRING {
+        @Override
+        public String toSqlLiteral(String value) {
+            return "'" + value.replace("'", "''") + "'";
+        }
+    };
+
+    /**
+     * Returns the given watermark as a SQL literal of this type.
+     *
+     * @param value the watermark read from the source
+     * @return the SQL literal of the watermark
+     */
+    public abstract String toSqlLiteral(String value);
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class defines a {@link WritableByteChannel} that writes into a file
+ * through a series of pre-allocated {@link MappedByteBuffer} segments. Writes
+ * are plain memory copies into the current segment; And a segment is rolled
+ * over to the next one once it is full, with the full segment flushed to disk
+ * asynchronously. Closing the channel truncates the file to the number of
+ * bytes written.
+ * <p>
+ * Note: Instances of this class are not thread-safe. Mapped segments are
+ * only released by the garbage collector; So platforms that refuse to
+ * truncate a file with live mappings may fail on close.
+ */
+public class MappedSegmentChannel implements WritableByteChannel {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private final FileChannel fileChannel;
+    private final int segmentSize;
+    private final ExecutorService flushExecutor;
+    private final Queue<Future<?>> pendingFlushes = new ArrayDeque<>();
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private boolean open = true;
+
+    /**
+     * Constructs a MappedSegmentChannel with the specified file channel to
+     * map segments from and the size of each segment in bytes. The file
+     * channel must be opened for both read and write.
+     *
+     * @param fileChannel the channel of the file to write into
+     * @param segmentSize the size of each mapped segment in bytes
+     */
+    public MappedSegmentChannel(FileChannel fileChannel, int segmentSize) {
+        this.fileChannel = Objects.requireNonNull(fileChannel, "File channel must not be null.");
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive.");
+        }
+        this.segmentSize = segmentSize;
+        flushExecutor = Executors.newSingleThreadExecutor((r) -> {
+            Thread thread = new Thread(r, "graphloom-segment-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns a MappedSegmentChannel writing into the file at the given path
+     * with the default segment size. The file is created or truncated if it
+     * already exists.
+     *
+     * @param path the path of the file to write into
+     * @return the channel writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static MappedSegmentChannel open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Returns a MappedSegmentChannel writing into the file at the given path
+     * with the given segment size. The file is created or truncated if it
+     * already exists.
+     *
+     * @param path        the path of the file to write into
+     * @param segmentSize the size of each mapped segment in bytes
+     * @return the channel writing into the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static MappedSegmentChannel open(Path path, int segmentSize) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new MappedSegmentChannel(fileChannel, segmentSize);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        int written = src.remaining();
+        while (src.hasRemaining()) {
+            if (segment == null || !segment.hasRemaining()) {
+                roll();
+            }
+            int length = Math.min(src.remaining(), segment.remaining());
+            ByteBuffer slice = src.slice();
+            slice.limit(length);
+            segment.put(slice);
+            src.position(src.position() + length);
+        }
+        return written;
+    }
+
+    /**
+     * Hands the current full segment over to be flushed asynchronously and
+     * maps the next segment of the file.
+     *
+     * @throws IOException if the next segment cannot be mapped
+     */
+    private void roll() throws IOException {
+        if (segment != null) {
+            MappedByteBuffer full = segment;
+            pendingFlushes.add(flushExecutor.submit(() -> {
+                full.force();
+            }));
+            segmentStart += segmentSize;
+            while (!pendingFlushes.isEmpty() && pendingFlushes.peek().isDone()) {
+                awaitFlush(pendingFlushes.remove());
+            }
+        }
+        segment = fileChannel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+    }
+
+    private void awaitFlush(Future<?> flush) throws IOException {
+        try {
+            flush.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing segment.");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to flush segment.", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Flushes every segment to disk and truncates the pre-allocated file to
+     * the number of bytes written before closing it.
+     *
+     * @throws IOException if the segments cannot be flushed or file truncated
+     */
+    @Override
+    public void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            long size = segmentStart;
+            if (segment != null) {
+                segment.force();
+                size += segment.position();
+            }
+            while (!pendingFlushes.isEmpty()) {
+                awaitFlush(pendingFlushes.remove());
+            }
+            fileChannel.truncate(size);
+        } finally {
+            flushExecutor.shutdown();
+            fileChannel.close();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class defines an output stream that compresses the bytes written to it
+ * as gzip in parallel. The stream is split into fixed size blocks; And each
+ * block is compressed independently as its own gzip member by a pool of
+ * worker threads. Compressed members are written to the underlying stream in
+ * order, so the result is a valid multi-member gzip file that can be read by
+ * standard tools such as {@code gzip -d} or {@link java.util.zip.GZIPInputStream}.
+ * <p>
+ * Note: Instances of this class are not thread-safe.
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+    private final ExecutorService executorService;
+    private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+    private final int maxPending;
+    private byte[] block;
+    private int blockLength;
+    private boolean hasMember;
+    private boolean closed;
+
+    /**
+     * Constructs a ParallelGzipOutputStream with the specified output stream
+     * to write the compressed blocks into; Using the default block size and
+     * a worker for each available processor.
+     *
+     * @param out the stream to write the compressed output into
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a ParallelGzipOutputStream with the specified output stream
+     * to write the compressed blocks into, the size of each uncompressed block
+     * and the number of workers to compress with.
+     *
+     * @param out       the stream to write the compressed output into
+     * @param blockSize the number of uncompressed bytes in each block
+     * @param workers   the number of threads compressing blocks
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int workers) {
+        super(Objects.requireNonNull(out, "Output stream must not be null."));
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive.");
+        if (workers <= 0) throw new IllegalArgumentException("Worker count must be positive.");
+        executorService = Executors.newFixedThreadPool(workers, (r) -> {
+            Thread thread = new Thread(r, "graphloom-gzip");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxPending = workers * 2;
+        block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[blockLength++] = (byte) b;
+        if (blockLength == block.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            int length = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, length);
+            blockLength += length;
+            off += length;
+            len -= length;
+            if (blockLength == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Compresses any partially filled block and writes every compressed
+     * block to the underlying stream before flushing it. Flushing early
+     * produces smaller gzip members and lowers the compression ratio.
+     *
+     * @throws IOException if the compressed output cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeNextMember();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+            if (!hasMember) {
+                out.write(compress(new byte[0]));
+            }
+        } finally {
+            closed = true;
+            executorService.shutdownNow();
+            out.close();
+        }
+    }
+
+    /**
+     * Hands the current block over to a worker to compress; Writing out the
+     * oldest compressed block first if too many blocks are in flight.
+     *
+     * @throws IOException if the compressed output cannot be written
+     */
+    private void submitBlock() throws IOException {
+        if (pending.size() >= maxPending) {
+            writeNextMember();
+        }
+        byte[] data = blockLength == block.length ? block : Arrays.copyOf(block, blockLength);
+        pending.add(executorService.submit(() -> compress(data)));
+        block = new byte[block.length];
+        blockLength = 0;
+    }
+
+    private void writeNextMember() throws IOException {
+        try {
+            out.write(pending.remove().get());
+            hasMember = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing block.");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress block.", e.getCause());
+        }
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(member, 64 * 1024)) {
+            gzipOutputStream.write(data);
+        }
+        return member.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.api;
+
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import org.apache.jena.rdf.model.RDFNode;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link ReferencedProperties}.
+ */
+public class ReferencedPropertiesTest {
+
+    @Test
+    public void GivenMapNotListingProperties_WhenListReferencedProperties_ThenReturnUnknown() {
+        NodeMap nodeMap = new NodeMap() {
+            @Override
+            public RDFNode generateNodeTerm(Entity entity) {
+                return null;
+            }
+
+            @Override
+            public String getUniqueId() {
+                return "NodeMap";
+            }
+        };
+        boolean result = ReferencedProperties.isUnknown(nodeMap.listReferencedProperties());
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void GivenEmptySet_WhenIsUnknown_ThenReturnFalse() {
+        boolean result = ReferencedProperties.isUnknown(Set.of());
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void GivenKnownSets_WhenUnion_ThenReturnAllProperties() {
+        Set<String> result = ReferencedProperties.union(Set.of("ID"), Set.of("NAME"), Set.of("ID"));
+        assertThat(result, is(equalTo(Set.of("ID", "NAME"))));
+    }
+
+    @Test
+    public void GivenUnknownSet_WhenUnion_ThenReturnUnknown() {
+        Set<String> result = ReferencedProperties.union(Set.of("ID"), ReferencedProperties.UNKNOWN);
+        assertThat(ReferencedProperties.isUnknown(result), is(true));
+    }
+}
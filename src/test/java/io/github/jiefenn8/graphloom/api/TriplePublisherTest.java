@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.api;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TriplePublisher}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TriplePublisherTest {
+
+    private final Resource subject = ResourceFactory.createResource("http://example.com/s");
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/p");
+    private final AtomicInteger generated = new AtomicInteger();
+    @Mock private GraphMapper mockGraphMapper;
+    @Mock private InputSource mockInputSource;
+    @Mock private ConfigMaps mockConfigMaps;
+
+    @Before
+    public void setUp() {
+        doAnswer((invocation) -> {
+            TripleSink sink = invocation.getArgument(2);
+            for (int i = 0; i < 10; i++) {
+                generated.incrementAndGet();
+                sink.accept(subject, predicate, ResourceFactory.createStringLiteral(String.valueOf(i)));
+            }
+            return null;
+        }).when(mockGraphMapper).mapToSink(any(), any(), any());
+    }
+
+    @Test
+    public void GivenUnboundedDemand_WhenSubscribe_ThenPublishAllTriplesAndComplete() {
+        TriplePublisher publisher = new TriplePublisher(mockGraphMapper, mockInputSource, mockConfigMaps, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.triples.size(), is(equalTo(10)));
+        assertThat(subscriber.completed, is(true));
+        assertThat(subscriber.error, is(nullValue()));
+    }
+
+    @Test
+    public void GivenLimitedDemand_WhenSubscribe_ThenPauseMapping() throws InterruptedException {
+        TriplePublisher publisher = new TriplePublisher(mockGraphMapper, mockInputSource, mockConfigMaps);
+        RecordingSubscriber subscriber = new RecordingSubscriber(3);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.received.await(5, TimeUnit.SECONDS), is(true));
+        Thread.sleep(100);
+        assertThat(subscriber.triples.size(), is(equalTo(3)));
+        assertThat(generated.get(), is(equalTo(4)));
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    public void GivenNonPositiveRequest_WhenSubscribe_ThenSignalError() {
+        TriplePublisher publisher = new TriplePublisher(mockGraphMapper, mockInputSource, mockConfigMaps, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(subscriber.completed, is(false));
+    }
+
+    /**
+     * Subscriber recording every signal received.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Triple> {
+
+        private final List<Triple> triples = new ArrayList<>();
+        private final long initialDemand;
+        private final CountDownLatch received;
+        private Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        private RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+            received = new CountDownLatch((int) Math.min(initialDemand, 10));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(Triple item) {
+            synchronized (triples) {
+                triples.add(item);
+            }
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
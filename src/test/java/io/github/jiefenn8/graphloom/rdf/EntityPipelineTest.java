@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.InputSource;
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.api.inputsource.EntityResult;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link EntityPipeline}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EntityPipelineTest {
+
+    private static final int ROW_COUNT = 1000;
+    @Mock private SourceMap mockSourceMap;
+    @Mock private InputSource mockInputSource;
+    @Mock private TripleSink mockTripleSink;
+
+    @Before
+    public void setUp() {
+        doCallRealMethod().when(mockSourceMap).forEachEntity(any(), any());
+        doAnswer((invocation) -> {
+            Consumer<EntityResult> action = invocation.getArgument(1);
+            AtomicInteger next = new AtomicInteger();
+            action.accept(new EntityResult() {
+                @Override
+                public boolean hasNext() {
+                    return next.get() < ROW_COUNT;
+                }
+
+                @Override
+                public Entity nextEntity() {
+                    String value = String.valueOf(next.getAndIncrement());
+                    return (name) -> name.equals("ID") ? value : null;
+                }
+            });
+            return null;
+        }).when(mockInputSource).executeEntityQuery(any(), any());
+    }
+
+    @Test
+    public void GivenRows_WhenRun_ThenOutputEveryTriple() {
+        AtomicLong sum = new AtomicLong();
+        PipelineMetrics metrics = new EntityPipeline(2, 2).run("TM", mockSourceMap, mockInputSource, Set.of("ID"),
+                (e, sink) -> {
+                    sum.addAndGet(Long.parseLong(e.getPropertyValue("ID")));
+                    sink.accept(null, null, null);
+                    return 1;
+                }, mockTripleSink);
+        assertThat(metrics.getRowCount(), is(equalTo((long) ROW_COUNT)));
+        assertThat(metrics.getTripleCount(), is(equalTo((long) ROW_COUNT)));
+        assertThat(sum.get(), is(equalTo(ROW_COUNT * (ROW_COUNT - 1L) / 2)));
+        verify(mockTripleSink, times(ROW_COUNT)).accept(null, null, null);
+    }
+
+    @Test
+    public void GivenUnreferencedProperty_WhenRun_ThenThrowException() {
+        String expected = "Property 'ID' was not listed by its map.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new EntityPipeline(1, 1).run("TM", mockSourceMap, mockInputSource, Set.of(),
+                        (e, sink) -> e.getPropertyValue("ID") == null ? 0 : 1, mockTripleSink)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenUnknownProperties_WhenRun_ThenThrowException() {
+        String expected = "Pipeline requires every map of 'TM' to list its referenced properties.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new EntityPipeline(1, 1).run("TM", mockSourceMap, mockInputSource,
+                        ReferencedProperties.UNKNOWN, (e, sink) -> 0, mockTripleSink)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+        verifyNoInteractions(mockSourceMap);
+    }
+
+    @Test
+    public void GivenFailingGenerator_WhenRun_ThenThrowException() {
+        String expected = "Failed.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new EntityPipeline(2, 1).run("TM", mockSourceMap, mockInputSource, Set.of("ID"),
+                        (e, sink) -> {
+                            throw new MapperException("Failed.");
+                        }, mockTripleSink)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenFailingGenerator_WhenRun_ThenStopReadingRows() {
+        int batchSize = 256;
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger next = new AtomicInteger();
+        doAnswer((invocation) -> {
+            Consumer<EntityResult> action = invocation.getArgument(1);
+            action.accept(new EntityResult() {
+                @Override
+                public boolean hasNext() {
+                    return next.get() < batchSize * 16;
+                }
+
+                @Override
+                public Entity nextEntity() {
+                    if (next.get() == batchSize) {
+                        awaitFailure(failed);
+                    }
+                    String value = String.valueOf(next.getAndIncrement());
+                    return (name) -> value;
+                }
+            });
+            return null;
+        }).when(mockInputSource).executeEntityQuery(any(), any());
+
+        Assert.assertThrows(
+                MapperException.class,
+                () -> new EntityPipeline(1, 32).run("TM", mockSourceMap, mockInputSource, Set.of("ID"),
+                        (e, sink) -> {
+                            failed.countDown();
+                            throw new MapperException("Failed.");
+                        }, mockTripleSink)
+        );
+        assertThat(next.get(), is(lessThanOrEqualTo(batchSize * 2)));
+    }
+
+    private void awaitFailure(CountDownLatch failed) {
+        try {
+            failed.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.rdf.r2rml.JoinCondition;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import io.github.jiefenn8.graphloom.rdf.r2rml.TriplesMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test class for {@link HashJoin}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HashJoinTest {
+
+    @Test
+    public void GivenChildAndParent_WhenCreate_ThenScanParentInEarlierWave() {
+        TriplesMap mockParent = mock(TriplesMap.class);
+        RefObjectMap mockRefObjectMap = mockRefObjectMap(mockParent);
+        EntityMap mockChild = mockChild(mockRefObjectMap);
+        List<EntityMap> parentGroup = List.of(mockParent);
+        List<EntityMap> childGroup = List.of(mockChild);
+
+        HashJoin hashJoin = new HashJoin(List.of(childGroup, parentGroup));
+        assertThat(hashJoin.listWaves(), is(List.of(List.of(parentGroup), List.of(childGroup))));
+        assertThat(hashJoin.listCollectors(parentGroup), is(List.of(hashJoin.getIndex(mockRefObjectMap))));
+        assertThat(hashJoin.listKeyScans().isEmpty(), is(true));
+    }
+
+    @Test
+    public void GivenChildAndParent_WhenCreate_ThenChildDependsOnParent() {
+        TriplesMap mockParent = mock(TriplesMap.class);
+        EntityMap mockChild = mockChild(mockRefObjectMap(mockParent));
+        List<EntityMap> parentGroup = List.of(mockParent);
+        List<EntityMap> childGroup = List.of(mockChild);
+
+        HashJoin hashJoin = new HashJoin(List.of(childGroup, parentGroup));
+        TriplesMapGraph graph = hashJoin.getGraph();
+        assertThat(graph.listParents(childGroup), is(Set.of(parentGroup)));
+        assertThat(graph.listChildren(parentGroup), is(Set.of(childGroup)));
+        assertThat(graph.listParents(parentGroup).isEmpty(), is(true));
+    }
+
+    @Test
+    public void GivenChainOfThree_WhenCreate_ThenScheduleAndCriticalPathFollowChain() {
+        TriplesMap mockGrandparent = mock(TriplesMap.class);
+        TriplesMap mockParent = mock(TriplesMap.class);
+        RelationMap mockRelationMap = mock(RelationMap.class);
+        RefObjectMap mockParentRef = mockRefObjectMap(mockGrandparent);
+        when(mockParent.listRelationMaps()).thenReturn(Set.of(mockRelationMap));
+        when(mockParent.getNodeMapWithRelation(mockRelationMap)).thenReturn(mockParentRef);
+        EntityMap mockChild = mockChild(mockRefObjectMap(mockParent));
+        List<EntityMap> grandparentGroup = List.of(mockGrandparent);
+        List<EntityMap> parentGroup = List.of(mockParent);
+        List<EntityMap> childGroup = List.of(mockChild);
+
+        HashJoin hashJoin = new HashJoin(List.of(childGroup, parentGroup, grandparentGroup));
+        TriplesMapGraph graph = hashJoin.getGraph();
+        assertThat(hashJoin.listWaves(), is(List.of(List.of(grandparentGroup), List.of(parentGroup),
+                List.of(childGroup))));
+        assertThat(graph.listParents(childGroup), is(Set.of(parentGroup)));
+        assertThat(graph.listParents(parentGroup), is(Set.of(grandparentGroup)));
+        assertThat(graph.listCriticalPath((g) -> 1L), is(List.of(grandparentGroup, parentGroup, childGroup)));
+    }
+
+    @Test
+    public void GivenWatermarkedParent_WhenCreate_ThenKeyScanFullParentTable() {
+        TriplesMap mockParent = mock(TriplesMap.class);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        when(mockParent.getSourceMap()).thenReturn(mockSourceMap);
+        RefObjectMap mockRefObjectMap = mockRefObjectMap(mockParent);
+        EntityMap watermarkedParent = new WatermarkedEntityMap(mockParent, mock(SourceMap.class));
+        List<EntityMap> parentGroup = List.of(watermarkedParent);
+        List<EntityMap> childGroup = List.of(mockChild(mockRefObjectMap));
+
+        HashJoin hashJoin = new HashJoin(List.of(childGroup, parentGroup));
+        ParentKeyIndex index = hashJoin.getIndex(mockRefObjectMap);
+        assertThat(hashJoin.listKeyScans().get(index), is(mockSourceMap));
+        assertThat(hashJoin.listCollectors(parentGroup).isEmpty(), is(true));
+        assertThat(hashJoin.getGraph().listParents(childGroup).isEmpty(), is(true));
+    }
+
+    @Test
+    public void GivenSelfReference_WhenCreate_ThenAddKeyScan() {
+        TriplesMap mockTriplesMap = mock(TriplesMap.class);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        when(mockTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        RefObjectMap mockRefObjectMap = mockRefObjectMap(mockTriplesMap);
+        RelationMap mockRelationMap = mock(RelationMap.class);
+        when(mockTriplesMap.listRelationMaps()).thenReturn(Set.of(mockRelationMap));
+        when(mockTriplesMap.getNodeMapWithRelation(mockRelationMap)).thenReturn(mockRefObjectMap);
+
+        HashJoin hashJoin = new HashJoin(List.of(List.of(mockTriplesMap)));
+        ParentKeyIndex index = hashJoin.getIndex(mockRefObjectMap);
+        assertThat(hashJoin.listWaves().size(), is(1));
+        assertThat(hashJoin.listKeyScans().get(index), is(mockSourceMap));
+    }
+
+    private RefObjectMap mockRefObjectMap(TriplesMap parent) {
+        JoinCondition mockJoinCondition = mock(JoinCondition.class);
+        when(mockJoinCondition.getParent()).thenReturn("ID");
+        when(mockJoinCondition.getChild()).thenReturn("PARENT_ID");
+        RefObjectMap mockRefObjectMap = mock(RefObjectMap.class);
+        when(mockRefObjectMap.hasJoinCondition()).thenReturn(true);
+        when(mockRefObjectMap.listJoinConditions()).thenReturn(Set.of(mockJoinCondition));
+        when(mockRefObjectMap.getParentTriplesMap()).thenReturn(parent);
+        return mockRefObjectMap;
+    }
+
+    private EntityMap mockChild(RefObjectMap refObjectMap) {
+        RelationMap mockRelationMap = mock(RelationMap.class);
+        EntityMap mockChild = mock(EntityMap.class);
+        when(mockChild.listRelationMaps()).thenReturn(Set.of(mockRelationMap));
+        when(mockChild.getNodeMapWithRelation(mockRelationMap)).thenReturn(refObjectMap);
+        return mockChild;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.r2rml.JoinCondition;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test class for {@link ParentKeyIndex}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ParentKeyIndexTest {
+
+    @Mock private JoinCondition mockJoinCondition;
+    private ParentKeyIndex parentKeyIndex;
+
+    @Before
+    public void setUp() {
+        when(mockJoinCondition.getParent()).thenReturn("ID");
+        when(mockJoinCondition.getChild()).thenReturn("PARENT_ID");
+        parentKeyIndex = new ParentKeyIndex(Set.of(mockJoinCondition));
+    }
+
+    @Test
+    public void GivenCollectedParent_WhenProbeWithMatchingChild_ThenReturnTrue() {
+        parentKeyIndex.collect(entity(Map.of("ID", "1")));
+        boolean result = parentKeyIndex.probe(entity(Map.of("PARENT_ID", "1")));
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void GivenCollectedParent_WhenProbeWithOtherChild_ThenReturnFalse() {
+        parentKeyIndex.collect(entity(Map.of("ID", "1")));
+        boolean result = parentKeyIndex.probe(entity(Map.of("PARENT_ID", "2")));
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void GivenParentWithNullKey_WhenCollect_ThenIgnoreParent() {
+        parentKeyIndex.collect(entity(Map.of()));
+        assertThat(parentKeyIndex.size(), is(0));
+    }
+
+    @Test
+    public void GivenChildWithNullKey_WhenProbe_ThenReturnFalse() {
+        parentKeyIndex.collect(entity(Map.of("ID", "1")));
+        boolean result = parentKeyIndex.probe(entity(Map.of()));
+        assertThat(result, is(false));
+    }
+
+    private Entity entity(Map<String, String> values) {
+        return values::get;
+    }
+}
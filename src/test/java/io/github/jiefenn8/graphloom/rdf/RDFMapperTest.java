@@ -5,10 +5,25 @@
 
 package io.github.jiefenn8.graphloom.rdf;
 
-import io.github.jiefenn8.graphloom.api.ConfigMaps;
-import io.github.jiefenn8.graphloom.api.InputSource;
+import io.github.jiefenn8.graphloom.api.*;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.api.inputsource.EntityResult;
 import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.exceptions.MappingCancelledException;
+import io.github.jiefenn8.graphloom.rdf.parser.R2RMLBuilder;
+import io.github.jiefenn8.graphloom.rdf.r2rml.LogicalTable;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import io.github.jiefenn8.graphloom.rdf.sink.TDB2Sink;
+import io.github.jiefenn8.graphloom.rdf.statistics.EntityCountStore;
+import io.github.jiefenn8.graphloom.rdf.statistics.InMemoryEntityCountStore;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkStore;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkType;
+import org.apache.jena.query.Dataset;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,14 +31,28 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link RDFMapper}.
@@ -70,4 +99,459 @@ public class RDFMapperTest {
         String msg = throwable.getMessage();
         assertThat(msg, is(equalTo(expected)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void GivenEmptyConfig_WhenMapToSink_ThenStartAndFinishSink() {
+        TripleSink mockTripleSink = mock(TripleSink.class);
+        rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, mockTripleSink);
+        verify(mockTripleSink).start(Map.of());
+        verify(mockTripleSink).finish();
+        verify(mockTripleSink, never()).accept(any(), any(), any());
+    }
+
+    @Test
+    public void GivenFailingSourceMap_WhenMapToSink_ThenAbortSink() {
+        TripleSink mockTripleSink = mock(TripleSink.class);
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mockSourceMap);
+        doThrow(new MapperException("Failed.")).when(mockSourceMap).forEachEntity(any(), any());
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, mockTripleSink)
+        );
+        assertThat(throwable.getMessage(), is(equalTo("Failed.")));
+        verify(mockTripleSink).abort();
+        verify(mockTripleSink, never()).finish();
+    }
+
+    @Test
+    public void GivenCancellingSink_WhenMapToSink_ThenAbortSinkAndRethrowCancellation() {
+        TripleSink mockTripleSink = mock(TripleSink.class);
+        MappingCancelledException cancellation = new MappingCancelledException("Cancelled.");
+        doThrow(cancellation).when(mockTripleSink).accept(any(), any(), any());
+        EntityMap mockEntityMap = mockEntityMap("http://example.com/0");
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        Throwable throwable = Assert.assertThrows(
+                MappingCancelledException.class,
+                () -> rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, mockTripleSink)
+        );
+        assertThat(throwable, is(cancellation));
+        verify(mockTripleSink).abort();
+        verify(mockTripleSink, never()).finish();
+    }
+
+    @Test
+    public void WhenNoTripleSinkGiven_ThenThrowException() {
+        String expected = "Cannot map source to null triple sink.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, null)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void WhenParallelismNotPositive_ThenThrowException() {
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                () -> new RDFMapper.Builder().withParallelism(0)
+        );
+    }
+
+    @Test
+    public void GivenWatermarkWithoutStore_WhenBuild_ThenThrowException() {
+        RDFMapper.Builder builder = new RDFMapper.Builder()
+                .withWatermark("TriplesMap1", "UPDATED_AT", WatermarkType.TIMESTAMP);
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                builder::build
+        );
+    }
+
+    @Test
+    public void GivenNewRows_WhenMapWithWatermarkTwice_ThenMapOnlyNewRowsSecondTime() throws SQLException {
+        Map<String, String> watermarks = new HashMap<>();
+        rdfMapper = new RDFMapper.Builder()
+                .withWatermark("TM", "ID", WatermarkType.NUMERIC)
+                .withWatermarkStore(mapWatermarkStore(watermarks))
+                .build();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:watermark");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE EMP (ID INT)");
+            statement.execute("INSERT INTO EMP VALUES (9), (10)");
+            EntityMap mockEntityMap = mockTableEntityMap("TM", "EMP");
+            when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+            Model first = rdfMapper.mapToGraph(jdbcInputSource(connection), mockConfigMaps);
+            statement.execute("INSERT INTO EMP VALUES (11)");
+            Model second = rdfMapper.mapToGraph(jdbcInputSource(connection), mockConfigMaps);
+            assertThat(first.listSubjects().toSet(), is(equalTo(Set.of(
+                    ResourceFactory.createResource("http://example.com/9"),
+                    ResourceFactory.createResource("http://example.com/10")))));
+            assertThat(second.listSubjects().toSet(), is(equalTo(Set.of(
+                    ResourceFactory.createResource("http://example.com/11")))));
+            assertThat(watermarks.get("TM"), is(equalTo("11")));
+        }
+    }
+
+    @Test
+    public void GivenSameIdOverTwoTables_WhenMapWithEntityCountStore_ThenSaveCountPerTable() throws SQLException {
+        EntityCountStore entityCountStore = new InMemoryEntityCountStore();
+        rdfMapper = new RDFMapper.Builder().withEntityCountStore(entityCountStore).build();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:statistics");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE EMP (ID INT)");
+            statement.execute("INSERT INTO EMP VALUES (1), (2)");
+            statement.execute("CREATE TABLE DEPT (ID INT)");
+            statement.execute("INSERT INTO DEPT VALUES (1), (2), (3)");
+            EntityMap mockEmpMap = mockTableEntityMap("TM", "SELECT * FROM EMP");
+            EntityMap mockDeptMap = mockTableEntityMap("TM", "SELECT * FROM DEPT");
+            when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEmpMap), Set.of(mockDeptMap));
+
+            rdfMapper.mapToGraph(jdbcInputSource(connection), mockConfigMaps);
+            rdfMapper.mapToGraph(jdbcInputSource(connection), mockConfigMaps);
+            assertThat(entityCountStore.load("TM@SELECT * FROM EMP#0"), is(equalTo(2L)));
+            assertThat(entityCountStore.load("TM@SELECT * FROM DEPT#0"), is(equalTo(3L)));
+        }
+    }
+
+    @Test
+    public void GivenRowsWithNullWatermark_WhenMapWithWatermark_ThenThrowException() throws SQLException {
+        String expected = "Watermark column ID is null in every row.";
+        rdfMapper = new RDFMapper.Builder()
+                .withWatermark("TM", "ID", WatermarkType.NUMERIC)
+                .withWatermarkStore(mapWatermarkStore(new HashMap<>()))
+                .build();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:watermark");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE EMP (ID INT)");
+            statement.execute("INSERT INTO EMP VALUES (NULL)");
+            LogicalTable logicalTable = logicalTable("EMP");
+            EntityMap mockEntityMap = mock(EntityMap.class);
+            when(mockEntityMap.getIdName()).thenReturn("TM");
+            when(mockEntityMap.getSourceMap()).thenReturn(logicalTable);
+            when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+            Throwable throwable = Assert.assertThrows(
+                    MapperException.class,
+                    () -> rdfMapper.mapToGraph(jdbcInputSource(connection), mockConfigMaps)
+            );
+            String msg = throwable.getMessage();
+            assertThat(msg, is(equalTo(expected)));
+        }
+    }
+
+    @Test
+    public void GivenManyEntityMaps_WhenMapInParallel_ThenReturnAllTriples() {
+        Set<EntityMap> entityMaps = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            entityMaps.add(mockEntityMap("http://example.com/" + i));
+        }
+        when(mockConfigMaps.getEntityMaps()).thenReturn(entityMaps);
+        rdfMapper = new RDFMapper.Builder().withParallelism(4).build();
+
+        Model model = rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        long result = model.size();
+        assertThat(result, is(8L));
+    }
+
+    @Test
+    public void GivenFailingEntityMap_WhenMapInParallel_ThenThrowException() {
+        TripleSink mockTripleSink = mock(TripleSink.class);
+        List<String> scanThreads = Collections.synchronizedList(new ArrayList<>());
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mockSourceMap);
+        doAnswer((invocation) -> {
+            scanThreads.add(Thread.currentThread().getName());
+            throw new MapperException("Failed.");
+        }).when(mockSourceMap).forEachEntity(any(), any());
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+        rdfMapper = new RDFMapper.Builder().withParallelism(2).build();
+
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, mockTripleSink)
+        );
+        assertThat(throwable.getMessage(), is(equalTo("Failed.")));
+        assertThat(scanThreads.get(0).startsWith("graphloom-mapper-"), is(true));
+        verify(mockTripleSink, never()).finish();
+        verify(mockTripleSink).abort();
+    }
+
+    @Test
+    public void GivenManyEntityMaps_WhenMapWithVirtualThreads_ThenReturnAllTriples() {
+        Set<EntityMap> entityMaps = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            entityMaps.add(mockEntityMap("http://example.com/" + i));
+        }
+        when(mockConfigMaps.getEntityMaps()).thenReturn(entityMaps);
+        rdfMapper = new RDFMapper.Builder().withVirtualThreads(2).build();
+
+        Model model = rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        long result = model.size();
+        assertThat(result, is(8L));
+    }
+
+    @Test
+    public void GivenTDB2Sink_WhenMapInParallel_ThenLoadAllTriples() {
+        Set<EntityMap> entityMaps = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            entityMaps.add(mockEntityMap("http://example.com/" + i));
+        }
+        when(mockConfigMaps.getEntityMaps()).thenReturn(entityMaps);
+        Dataset dataset = TDB2Factory.createDataset();
+        rdfMapper = new RDFMapper.Builder().withParallelism(4).build();
+
+        rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, new TDB2Sink(dataset, 3));
+        long result = Txn.calculateRead(dataset, () -> dataset.getDefaultModel().size());
+        assertThat(result, is(8L));
+    }
+
+    @Test
+    public void GivenTDB2Sink_WhenMapWithPipeline_ThenLoadAllTriples() {
+        Set<EntityMap> entityMaps = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            entityMaps.add(mockEntityMap("http://example.com/" + i));
+        }
+        when(mockConfigMaps.getEntityMaps()).thenReturn(entityMaps);
+        Dataset dataset = TDB2Factory.createDataset();
+        rdfMapper = new RDFMapper.Builder().withVirtualThreads(4).withPipeline(2, 4).build();
+
+        rdfMapper.mapToSink(mock(InputSource.class), mockConfigMaps, new TDB2Sink(dataset, 3));
+        long result = Txn.calculateRead(dataset, () -> dataset.getDefaultModel().size());
+        assertThat(result, is(8L));
+    }
+
+    @Test
+    public void GivenParentColumnNotJoined_WhenMapWithAndWithoutPipeline_ThenReturnSameGraph() throws SQLException {
+        ConfigMaps configMaps = new R2RMLBuilder().parse("r2rml/unjoined_parent_column.ttl");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:unjoined");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE EMP (EMPNO INT, DEPTNO INT)");
+            statement.execute("INSERT INTO EMP VALUES (1, 10), (2, 20)");
+            statement.execute("CREATE TABLE DEPT (DEPTNO INT, DNAME VARCHAR(20))");
+            statement.execute("INSERT INTO DEPT VALUES (10, 'SALES'), (20, 'RESEARCH')");
+
+            Model direct = rdfMapper.mapToGraph(jdbcInputSource(connection), configMaps);
+            Model pipelined = new RDFMapper.Builder().withPipeline(1, 1).build()
+                    .mapToGraph(jdbcInputSource(connection), configMaps);
+            assertThat(direct.size(), is(4L));
+            assertThat(pipelined.isIsomorphicWith(direct), is(true));
+        }
+    }
+
+    @Test
+    public void GivenEntityMapsWithEqualSourceMap_WhenMap_ThenScanSourceMapOnce() {
+        EntityMap mockEntityMap = mockEntityMap("http://example.com/0");
+        SourceMap sharedSourceMap = mockEntityMap.getSourceMap();
+        EntityMap mockOtherEntityMap = mock(EntityMap.class);
+        when(mockOtherEntityMap.getSourceMap()).thenReturn(sharedSourceMap);
+        when(mockOtherEntityMap.generateEntityTerm(any()))
+                .thenReturn(ResourceFactory.createResource("http://example.com/1"));
+        when(mockOtherEntityMap.listEntityClasses())
+                .thenReturn(List.of(ResourceFactory.createResource("http://example.com/Class")));
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap, mockOtherEntityMap));
+
+        Model model = rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        assertThat(model.size(), is(2L));
+        verify(sharedSourceMap, times(1)).forEachEntity(any(), any());
+    }
+
+    @Test
+    public void GivenTrustedForeignKeys_WhenMap_ThenGenerateRefTripleInBaseScan() {
+        EntityMap mockEntityMap = mockEntityMap("http://example.com/1");
+        RelationMap mockRelationMap = mock(RelationMap.class);
+        RefObjectMap mockRefObjectMap = mock(RefObjectMap.class);
+        when(mockEntityMap.listRelationMaps()).thenReturn(Set.of(mockRelationMap));
+        when(mockEntityMap.getNodeMapWithRelation(mockRelationMap)).thenReturn(mockRefObjectMap);
+        when(mockRelationMap.generateRelationTerm(any()))
+                .thenReturn(ResourceFactory.createProperty("http://example.com/parent"));
+        when(mockRefObjectMap.hasJoinCondition()).thenReturn(true);
+        when(mockRefObjectMap.generateNodeTerm(any()))
+                .thenReturn(ResourceFactory.createResource("http://example.com/2"));
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        rdfMapper = new RDFMapper.Builder().withJoinStrategy(JoinStrategy.TRUSTED_FOREIGN_KEYS).build();
+        Model model = rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        assertThat(model.size(), is(2L));
+        verify(mockEntityMap.getSourceMap(), times(1)).forEachEntity(any(), any());
+    }
+
+    @Test
+    public void GivenRefObjectMapWithoutJoin_WhenMap_ThenGenerateRefTripleInBaseScan() {
+        EntityMap mockEntityMap = mockEntityMap("http://example.com/1");
+        RelationMap mockRelationMap = mock(RelationMap.class);
+        RefObjectMap mockRefObjectMap = mock(RefObjectMap.class);
+        when(mockEntityMap.listRelationMaps()).thenReturn(Set.of(mockRelationMap));
+        when(mockEntityMap.getNodeMapWithRelation(mockRelationMap)).thenReturn(mockRefObjectMap);
+        when(mockRelationMap.generateRelationTerm(any()))
+                .thenReturn(ResourceFactory.createProperty("http://example.com/parent"));
+        when(mockRefObjectMap.generateNodeTerm(any()))
+                .thenReturn(ResourceFactory.createResource("http://example.com/2"));
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        Model model = rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        assertThat(model.size(), is(2L));
+        verify(mockEntityMap.getSourceMap(), times(1)).forEachEntity(any(), any());
+    }
+
+    @Test
+    public void GivenProjectionPushdownWithoutLogicalTable_WhenMap_ThenThrowException() {
+        String expected = "Projection pushdown requires a logical table.";
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mock(SourceMap.class));
+        when(mockEntityMap.listReferencedProperties()).thenReturn(Set.of("ID"));
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        rdfMapper = new RDFMapper.Builder().withProjectionPushdown().build();
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenUnknownReferencedProperties_WhenMapWithProjectionPushdown_ThenScanWholeSource() {
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockEntityMap.listReferencedProperties()).thenReturn(ReferencedProperties.UNKNOWN);
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        rdfMapper = new RDFMapper.Builder().withProjectionPushdown().build();
+        rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps);
+        verify(mockSourceMap, times(1)).forEachEntity(any(), any());
+    }
+
+    @Test
+    public void GivenUnknownReferencedProperties_WhenMapWithPipeline_ThenThrowException() {
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mock(SourceMap.class));
+        when(mockEntityMap.getIdName()).thenReturn("TM");
+        when(mockEntityMap.listReferencedProperties()).thenReturn(ReferencedProperties.UNKNOWN);
+        when(mockConfigMaps.getEntityMaps()).thenReturn(Set.of(mockEntityMap));
+
+        rdfMapper = new RDFMapper.Builder().withPipeline(1, 1).build();
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> rdfMapper.mapToGraph(mock(InputSource.class), mockConfigMaps)
+        );
+        String expected = "Pipeline requires every map of 'TM' to list its referenced properties.";
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenEntityCountEstimates_WhenMapInParallel_ThenStartSmallestScanLast() {
+        InputSource mockInputSource = mock(InputSource.class);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstScans = new CountDownLatch(2);
+        Set<EntityMap> entityMaps = new HashSet<>();
+        long[] estimates = {10, 1000, 500};
+        for (int i = 0; i < estimates.length; i++) {
+            String uri = "http://example.com/" + i;
+            EntityMap mockEntityMap = mock(EntityMap.class);
+            SourceMap mockSourceMap = mock(SourceMap.class);
+            when(mockEntityMap.getSourceMap()).thenReturn(mockSourceMap);
+            EntityReference mockEntityReference = mock(EntityReference.class);
+            when(mockSourceMap.getEntityReference()).thenReturn(mockEntityReference);
+            when(mockInputSource.estimateEntityCount(mockEntityReference)).thenReturn(estimates[i]);
+            doAnswer((invocation) -> {
+                started.add(uri);
+                firstScans.countDown();
+                return firstScans.await(5, TimeUnit.SECONDS);
+            }).when(mockSourceMap).forEachEntity(any(), any());
+            entityMaps.add(mockEntityMap);
+        }
+        when(mockConfigMaps.getEntityMaps()).thenReturn(entityMaps);
+
+        rdfMapper = new RDFMapper.Builder().withParallelism(2).build();
+        rdfMapper.mapToGraph(mockInputSource, mockConfigMaps);
+        assertThat(started.get(2), is(equalTo("http://example.com/0")));
+    }
+
+    private EntityMap mockTableEntityMap(String id, String table) {
+        LogicalTable logicalTable = logicalTable(table);
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        when(mockEntityMap.getIdName()).thenReturn(id);
+        when(mockEntityMap.getSourceMap()).thenReturn(logicalTable);
+        when(mockEntityMap.generateEntityTerm(any())).thenAnswer((invocation) -> ResourceFactory
+                .createResource("http://example.com/" + invocation.<Entity>getArgument(0).getPropertyValue("ID")));
+        when(mockEntityMap.listEntityClasses()).thenReturn(List.of(ResourceFactory.createResource("http://example.com/Class")));
+        return mockEntityMap;
+    }
+
+    private LogicalTable logicalTable(String table) {
+        EntityReference mockEntityReference = mock(EntityReference.class);
+        when(mockEntityReference.getPayload()).thenReturn(table);
+        return new LogicalTable.Builder(mockEntityReference).build();
+    }
+
+    private WatermarkStore mapWatermarkStore(Map<String, String> watermarks) {
+        return new WatermarkStore() {
+            @Override
+            public String load(String triplesMapId) {
+                return watermarks.get(triplesMapId);
+            }
+
+            @Override
+            public void save(String triplesMapId, String watermark) {
+                watermarks.put(triplesMapId, watermark);
+            }
+        };
+    }
+
+    private InputSource jdbcInputSource(Connection connection) {
+        return (entityRef, action) -> {
+            List<Map<String, String>> rows = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(entityRef.getPayload())) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    Map<String, String> row = new HashMap<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        row.put(metaData.getColumnLabel(i), resultSet.getString(i));
+                    }
+                    rows.add(row);
+                }
+            } catch (SQLException e) {
+                throw new MapperException("Failed to query " + entityRef.getPayload(), e);
+            }
+            Iterator<Map<String, String>> iterator = rows.iterator();
+            action.accept(new EntityResult() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entity nextEntity() {
+                    return iterator.next()::get;
+                }
+            });
+        };
+    }
+
+    private EntityMap mockEntityMap(String uri) {
+        Resource subject = ResourceFactory.createResource(uri);
+        SourceMap mockSourceMap = mock(SourceMap.class);
+        doAnswer((invocation) -> {
+            Consumer<Entity> action = invocation.getArgument(1);
+            action.accept(mock(Entity.class));
+            return null;
+        }).when(mockSourceMap).forEachEntity(any(), any());
+        EntityMap mockEntityMap = mock(EntityMap.class);
+        when(mockEntityMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockEntityMap.generateEntityTerm(any())).thenReturn(subject);
+        when(mockEntityMap.listEntityClasses()).thenReturn(List.of(ResourceFactory.createResource("http://example.com/Class")));
+        return mockEntityMap;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.EntityReference;
+import io.github.jiefenn8.graphloom.api.InputSource;
+import io.github.jiefenn8.graphloom.api.SourceMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.statistics.InMemoryEntityCountStore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ScanPlanner}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScanPlannerTest {
+
+    @Mock private EntityMap mockTriplesMap;
+    @Mock private EntityMap mockOtherTriplesMap;
+    @Mock private SourceMap mockSourceMap;
+    @Mock private EntityReference mockEntityReference;
+    @Mock private InputSource mockInputSource;
+    @Mock private Entity mockEntity;
+    @Mock private TripleSink mockTripleSink;
+
+    private ScanPlanner newPlanner(Map<String, ScanPlanner.Partitioning> partitionings) {
+        return new ScanPlanner(JoinStrategy.JOINT_QUERY, false, false, partitionings,
+                new InMemoryEntityCountStore(), 0, 0, (m) -> {
+        });
+    }
+
+    @Test
+    public void GivenEqualSourceMaps_WhenGroupBySourceMap_ThenShareGroup() {
+        when(mockTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockOtherTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+
+        List<List<EntityMap>> result = new ArrayList<>(newPlanner(Map.of())
+                .groupBySourceMap(Set.of(mockTriplesMap, mockOtherTriplesMap)));
+        assertThat(result.size(), is(1));
+        assertThat(Set.copyOf(result.get(0)), is(Set.of(mockTriplesMap, mockOtherTriplesMap)));
+    }
+
+    @Test
+    public void GivenOnePartitionedTriplesMap_WhenGroupBySourceMap_ThenSplitGroups() {
+        when(mockTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockTriplesMap.getIdName()).thenReturn("TriplesMap1");
+        when(mockOtherTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockOtherTriplesMap.getIdName()).thenReturn("TriplesMap2");
+        ScanPlanner planner = newPlanner(Map.of("TriplesMap1", new ScanPlanner.Partitioning("ID", 2)));
+
+        int result = planner.groupBySourceMap(Set.of(mockTriplesMap, mockOtherTriplesMap)).size();
+        assertThat(result, is(2));
+    }
+
+    @Test
+    public void GivenGroup_WhenGroupId_ThenJoinIdNames() {
+        when(mockTriplesMap.getIdName()).thenReturn("TriplesMap1");
+        when(mockOtherTriplesMap.getIdName()).thenReturn("TriplesMap2");
+
+        String result = ScanPlanner.groupId(List.of(mockTriplesMap, mockOtherTriplesMap));
+        assertThat(result, is("TriplesMap1,TriplesMap2"));
+    }
+
+    @Test
+    public void GivenTriplesMapWithoutRefs_WhenListScans_ThenReturnBaseScanCostedBySourceEstimate() {
+        when(mockTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockSourceMap.getEntityReference()).thenReturn(mockEntityReference);
+        when(mockInputSource.estimateEntityCount(mockEntityReference)).thenReturn(100L);
+
+        List<ToLongFunction<TripleSink>> result = newPlanner(Map.of())
+                .listScans(List.of(mockTriplesMap), mockInputSource, null);
+        assertThat(result.size(), is(1));
+        assertThat(CostedScan.costOf(result.get(0)), is(100L));
+    }
+
+    @Test
+    public void GivenBaseScanRun_WhenEstimateEntityCount_ThenReturnCountedEntities() {
+        when(mockTriplesMap.getSourceMap()).thenReturn(mockSourceMap);
+        when(mockSourceMap.getEntityReference()).thenReturn(mockEntityReference);
+        when(mockInputSource.estimateEntityCount(mockEntityReference)).thenReturn(100L);
+        doAnswer((invocation) -> {
+            Consumer<Entity> action = invocation.getArgument(1);
+            action.accept(mockEntity);
+            action.accept(mockEntity);
+            return null;
+        }).when(mockSourceMap).forEachEntity(any(), any());
+        ScanPlanner planner = newPlanner(Map.of());
+
+        planner.listScans(List.of(mockTriplesMap), mockInputSource, null).get(0).applyAsLong(mockTripleSink);
+        long result = planner.estimateEntityCount(mockTriplesMap, mockInputSource);
+        assertThat(result, is(2L));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test class for {@link ScanScheduler}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScanSchedulerTest {
+
+    @Mock private TripleSink mockTripleSink;
+
+    @Test
+    public void GivenCostedScans_WhenSortByCost_ThenReturnCostliestFirst() {
+        ToLongFunction<TripleSink> uncosted = (s) -> 0;
+        ToLongFunction<TripleSink> small = new CostedScan(10, (s) -> 0);
+        ToLongFunction<TripleSink> large = new CostedScan(20, (s) -> 0);
+
+        List<ToLongFunction<TripleSink>> result = ScanScheduler.sortByCost(List.of(uncosted, small, large));
+        assertThat(result, is(List.of(large, small, uncosted)));
+    }
+
+    @Test
+    public void GivenSequentialScheduler_WhenRunScans_ThenRunInGivenOrder() {
+        List<Integer> order = new ArrayList<>();
+        ToLongFunction<TripleSink> first = new CostedScan(10, (s) -> {
+            order.add(1);
+            return 1;
+        });
+        ToLongFunction<TripleSink> second = new CostedScan(20, (s) -> {
+            order.add(2);
+            return 2;
+        });
+
+        long result = new ScanScheduler(1, 0).runScans(List.of(first, second), mockTripleSink);
+        assertThat(result, is(3L));
+        assertThat(order, is(List.of(1, 2)));
+    }
+
+    @Test
+    public void GivenParallelScheduler_WhenRunScans_ThenReturnTotalTriples() {
+        List<ToLongFunction<TripleSink>> scans = List.of((s) -> 1, (s) -> 2, (s) -> 3);
+
+        long result = new ScanScheduler(2, 0).runScans(scans, mockTripleSink);
+        assertThat(result, is(6L));
+    }
+
+    @Test(expected = MapperException.class)
+    public void GivenFailingScan_WhenRunScans_ThenRethrowFailure() {
+        List<ToLongFunction<TripleSink>> scans = List.of((s) -> 1, (s) -> {
+            throw new MapperException("Scan failed.");
+        });
+
+        new ScanScheduler(2, 0).runScans(scans, mockTripleSink);
+    }
+
+    @Test
+    public void GivenDependentGroups_WhenRunGraph_ThenStartChildAfterParentCompleted() {
+        List<EntityMap> parentGroup = List.of(mock(EntityMap.class));
+        List<EntityMap> childGroup = List.of(mock(EntityMap.class));
+        TriplesMapGraph graph = new TriplesMapGraph();
+        graph.addGroup(parentGroup);
+        graph.addGroup(childGroup);
+        graph.addDependency(childGroup, parentGroup);
+        AtomicBoolean parentDone = new AtomicBoolean();
+        List<Boolean> parentDoneAtChild = Collections.synchronizedList(new ArrayList<>());
+
+        ToLongFunction<TripleSink> parentScan = (s) -> {
+            parentDone.set(true);
+            return 1;
+        };
+        ToLongFunction<TripleSink> childScan = (s) -> {
+            parentDoneAtChild.add(parentDone.get());
+            return 2;
+        };
+
+        long result = new ScanScheduler(2, 0).runGraph(graph, List.of(List.of(parentGroup), List.of(childGroup)),
+                (g) -> List.of(g == parentGroup ? parentScan : childScan), mockTripleSink);
+        assertThat(result, is(3L));
+        assertThat(parentDoneAtChild, is(List.of(true)));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test class for {@link TriplesMapGraph}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TriplesMapGraphTest {
+
+    private final TriplesMapGraph graph = new TriplesMapGraph();
+
+    @Test
+    public void GivenDependency_WhenListParentsAndChildren_ThenLinkBothWays() {
+        List<EntityMap> parentGroup = List.of(mock(EntityMap.class));
+        List<EntityMap> childGroup = List.of(mock(EntityMap.class));
+        graph.addGroup(parentGroup);
+        graph.addGroup(childGroup);
+        graph.addDependency(childGroup, parentGroup);
+
+        assertThat(graph.listParents(childGroup), is(Set.of(parentGroup)));
+        assertThat(graph.listChildren(parentGroup), is(Set.of(childGroup)));
+        assertThat(graph.listParents(parentGroup).isEmpty(), is(true));
+    }
+
+    @Test
+    public void GivenTwoChains_WhenListCriticalPath_ThenReturnCostliestChain() {
+        List<EntityMap> parentGroup = List.of(mock(EntityMap.class));
+        List<EntityMap> childGroup = List.of(mock(EntityMap.class));
+        List<EntityMap> otherGroup = List.of(mock(EntityMap.class));
+        graph.addGroup(otherGroup);
+        graph.addGroup(parentGroup);
+        graph.addGroup(childGroup);
+        graph.addDependency(childGroup, parentGroup);
+        Map<List<EntityMap>, Long> costs = new IdentityHashMap<>();
+        costs.put(parentGroup, 10L);
+        costs.put(childGroup, 20L);
+        costs.put(otherGroup, 25L);
+
+        List<List<EntityMap>> result = graph.listCriticalPath(costs::get);
+        assertThat(result, is(List.of(parentGroup, childGroup)));
+    }
+
+    @Test
+    public void GivenGroupsWithoutDependency_WhenListCriticalPath_ThenReturnCostliestGroup() {
+        List<EntityMap> group = List.of(mock(EntityMap.class));
+        List<EntityMap> costliestGroup = List.of(mock(EntityMap.class));
+        graph.addGroup(group);
+        graph.addGroup(costliestGroup);
+        Map<List<EntityMap>, Long> costs = new IdentityHashMap<>();
+        costs.put(group, 10L);
+        costs.put(costliestGroup, 20L);
+
+        List<List<EntityMap>> result = graph.listCriticalPath(costs::get);
+        assertThat(result, is(List.of(costliestGroup)));
+    }
+
+    @Test
+    public void GivenNoGroup_WhenListCriticalPath_ThenReturnEmptyList() {
+        List<List<EntityMap>> result = graph.listCriticalPath((g) -> 1L);
+        assertThat(result.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf;
+
+import io.github.jiefenn8.graphloom.api.EntityMap;
+import io.github.jiefenn8.graphloom.api.NodeMap;
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
+import io.github.jiefenn8.graphloom.api.RelationMap;
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import io.github.jiefenn8.graphloom.api.inputsource.Entity;
+import io.github.jiefenn8.graphloom.rdf.r2rml.RefObjectMap;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TriplesMapPlan}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TriplesMapPlanTest {
+
+    private final Resource subject = ResourceFactory.createResource("http://example.com/1");
+    private final Resource entityClass = ResourceFactory.createResource("http://example.com/Class");
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/name");
+    private final RDFNode object = ResourceFactory.createPlainLiteral("name");
+    @Mock private EntityMap mockEntityMap;
+    @Mock private RelationMap mockRelationMap;
+    @Mock private NodeMap mockNodeMap;
+    @Mock private RelationMap mockRefRelationMap;
+    @Mock private RefObjectMap mockRefObjectMap;
+    @Mock private Entity mockEntity;
+    @Mock private TripleSink mockTripleSink;
+
+    @Before
+    public void setUp() {
+        when(mockEntityMap.listEntityClasses()).thenReturn(List.of(entityClass));
+        when(mockEntityMap.listRelationMaps()).thenReturn(Set.of(mockRelationMap, mockRefRelationMap));
+        when(mockEntityMap.getNodeMapWithRelation(mockRelationMap)).thenReturn(mockNodeMap);
+        when(mockEntityMap.getNodeMapWithRelation(mockRefRelationMap)).thenReturn(mockRefObjectMap);
+    }
+
+    @Test
+    public void GivenEntityMap_WhenCompile_ThenSplitRefObjectMaps() {
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        assertThat(plan.getRefCount(), is(1));
+        assertThat(plan.getRefRelationMap(0), is(mockRefRelationMap));
+        assertThat(plan.getRefObjectMap(0), is(mockRefObjectMap));
+    }
+
+    @Test
+    public void GivenEntity_WhenMapBase_ThenPushClassAndBaseTriples() {
+        when(mockEntityMap.generateEntityTerm(mockEntity)).thenReturn(subject);
+        when(mockNodeMap.generateNodeTerm(mockEntity)).thenReturn(object);
+        when(mockRelationMap.generateRelationTerm(mockEntity)).thenReturn(predicate);
+
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        int result = plan.mapBase(mockEntity, mockTripleSink);
+        assertThat(result, is(equalTo(2)));
+        verify(mockTripleSink).accept(subject, RDF.type, entityClass);
+        verify(mockTripleSink).accept(subject, predicate, object);
+        verify(mockRefObjectMap, never()).generateNodeTerm(any());
+    }
+
+    @Test
+    public void GivenEntityWithoutSubject_WhenMapBase_ThenRejectEntity() {
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        int result = plan.mapBase(mockEntity, mockTripleSink);
+        assertThat(result, is(equalTo(0)));
+        verify(mockNodeMap, never()).generateNodeTerm(any());
+        verifyNoInteractions(mockTripleSink);
+    }
+
+    @Test
+    public void GivenCompiledPlan_WhenMapManyEntities_ThenLookUpEntityMapOnce() {
+        when(mockEntityMap.generateEntityTerm(mockEntity)).thenReturn(subject);
+
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        for (int i = 0; i < 3; i++) {
+            plan.mapBase(mockEntity, mockTripleSink);
+        }
+        verify(mockEntityMap, times(1)).listRelationMaps();
+        verify(mockEntityMap, times(1)).listEntityClasses();
+    }
+
+    @Test
+    public void GivenNodeMapWithUnknownProperties_WhenListBaseProperties_ThenReturnUnknown() {
+        when(mockEntityMap.listReferencedProperties()).thenReturn(Set.of("ID"));
+        when(mockRelationMap.listReferencedProperties()).thenReturn(Set.of());
+        when(mockNodeMap.listReferencedProperties()).thenReturn(ReferencedProperties.UNKNOWN);
+
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        Set<String> result = plan.listBaseProperties();
+        assertThat(ReferencedProperties.isUnknown(result), is(true));
+    }
+
+    @Test
+    public void GivenKnownProperties_WhenListRefProperties_ThenReturnAllProperties() {
+        when(mockEntityMap.listReferencedProperties()).thenReturn(Set.of("ID"));
+        when(mockRefRelationMap.listReferencedProperties()).thenReturn(Set.of());
+        when(mockRefObjectMap.listReferencedProperties()).thenReturn(Set.of("DEPTNO"));
+
+        TriplesMapPlan plan = TriplesMapPlan.compile(mockEntityMap);
+        Set<String> result = plan.listRefProperties(0);
+        assertThat(result, is(equalTo(Set.of("ID", "DEPTNO"))));
+    }
+}
@@ -7,17 +7,27 @@ package io.github.jiefenn8.graphloom.rdf.r2rml;
 
 import io.github.jiefenn8.graphloom.api.EntityReference;
 import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import io.github.jiefenn8.graphloom.rdf.watermark.WatermarkType;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -109,4 +119,240 @@ public class LogicalTableTest {
         String msg = throwable.getMessage();
         assertThat(msg, is(equalTo(expected)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void GivenPartition_WhenBuildWithPartition_ThenReturnPartitionQuery() {
+        String expected = "SELECT part.* FROM TABLE AS part WHERE ABS(MOD(part.ID, 4)) = 2";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withPartition("ID", 2, 4)
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenFirstPartition_WhenBuildWithPartition_ThenIncludeNullPartitionColumn() {
+        String expected = "SELECT part.* FROM TABLE AS part WHERE ABS(MOD(part.ID, 4)) = 0 OR part.ID IS NULL";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withPartition("ID", 0, 4)
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenPartition_WhenBuildWithPartition_ThenSetPartitionProperties() {
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withPartition("ID", 1, 4)
+                .build();
+        EntityReference result = logicalTable.getEntityReference();
+        assertThat(result.getProperty("partitionColumn"), is(equalTo("ID")));
+        assertThat(result.getProperty("partitionIndex"), is(equalTo("1")));
+        assertThat(result.getProperty("partitionCount"), is(equalTo("4")));
+    }
+
+    @Test
+    public void GivenPartitionIndexOutOfRange_WhenBuildWithPartition_ThenThrowException() {
+        String expected = "Expected partition index within partition count.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new LogicalTable.Builder(mockEntityReference).withPartition("ID", 4, 4)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenColumns_WhenBuildWithProjection_ThenReturnProjectionQuery() {
+        String expected = "SELECT proj.ID, proj.NAME FROM TABLE AS proj";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withProjection(Set.of("NAME", "ID"))
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNoColumns_WhenBuildWithProjection_ThenThrowException() {
+        String expected = "Expected columns with projection creation.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new LogicalTable.Builder(mockEntityReference).withProjection(Set.of())
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenColumns_WhenBuildWithNotNullFilter_ThenReturnFilterQuery() {
+        String expected = "SELECT nn.* FROM TABLE AS nn WHERE nn.ID IS NOT NULL AND nn.TYPE IS NOT NULL";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withNotNullFilter(List.of(Set.of("TYPE", "ID")))
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenManyColumnSets_WhenBuildWithNotNullFilter_ThenReturnAlternativeFilterQuery() {
+        String expected = "SELECT nn.* FROM TABLE AS nn WHERE (nn.ID IS NOT NULL) OR (nn.CODE IS NOT NULL)";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withNotNullFilter(List.of(Set.of("ID"), Set.of("CODE")))
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenEmptyColumnSet_WhenBuildWithNotNullFilter_ThenThrowException() {
+        String expected = "Expected columns with not null filter creation.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new LogicalTable.Builder(mockEntityReference).withNotNullFilter(List.of(Set.of()))
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenWatermarks_WhenBuildWithWatermarkRange_ThenReturnRangeQuery() {
+        String expected = "SELECT wm.* FROM TABLE AS wm WHERE wm.UPDATED > TIMESTAMP '2020-01-01 00:00:00'"
+                + " AND wm.UPDATED <= TIMESTAMP '2020-02-01 00:00:00'";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withWatermarkRange("UPDATED", WatermarkType.TIMESTAMP, "2020-01-01 00:00:00",
+                        "2020-02-01 00:00:00")
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNoLowWatermark_WhenBuildWithWatermarkRange_ThenReturnUpToHighWatermarkQuery() {
+        String expected = "SELECT wm.* FROM TABLE AS wm WHERE wm.CODE <= '1''0'";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withWatermarkRange("CODE", WatermarkType.STRING, null, "1'0")
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNumericWatermarks_WhenBuildWithWatermarkRange_ThenReturnNumericRangeQuery() {
+        String expected = "SELECT wm.* FROM TABLE AS wm WHERE wm.ID > 9 AND wm.ID <= 10";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withWatermarkRange("ID", WatermarkType.NUMERIC, "9", "10")
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNonNumericWatermark_WhenBuildWithNumericWatermarkRange_ThenThrowException() {
+        String expected = "Expected numeric watermark but found '1 OR 1=1'.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new LogicalTable.Builder(mockEntityReference)
+                        .withWatermarkRange("ID", WatermarkType.NUMERIC, null, "1 OR 1=1")
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenWatermarkColumn_WhenBuildWithHighWatermark_ThenReturnMaxQuery() {
+        String expected = "SELECT MAX(wm.ID) AS \"GRAPHLOOM_WATERMARK\", COUNT(*) AS \"GRAPHLOOM_ROW_COUNT\""
+                + " FROM TABLE AS wm";
+        when(mockEntityReference.getPayload()).thenReturn("TABLE");
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withHighWatermark("ID")
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenParents_WhenBuildWithFusedJointQuery_ThenReturnSemiJoinQuery() {
+        String expected = "SELECT child.*"
+                + ", CASE WHEN EXISTS (SELECT 1 FROM PARENT0 AS parent0 WHERE child.C0=parent0.P0)"
+                + " THEN 1 END AS \"GRAPHLOOM_JOIN_0\""
+                + ", CASE WHEN EXISTS (SELECT 1 FROM PARENT1 AS parent1 WHERE child.C1=parent1.P1)"
+                + " THEN 1 END AS \"GRAPHLOOM_JOIN_1\""
+                + " FROM CHILD AS child";
+        when(mockEntityReference.getPayload()).thenReturn("CHILD");
+        List<Pair<LogicalTable, Set<JoinCondition>>> parents = List.of(
+                Pair.of(mockLogicalTable("PARENT0"), Set.of(mockJoinCondition("P0", "C0"))),
+                Pair.of(mockLogicalTable("PARENT1"), Set.of(mockJoinCondition("P1", "C1")))
+        );
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withFusedJointQuery(parents)
+                .build();
+        String result = logicalTable.getEntityReference().getPayload();
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNonUniqueParentKey_WhenQueryFusedJointQuery_ThenSelectEachChildRowOnce() throws SQLException {
+        when(mockEntityReference.getPayload()).thenReturn("EMP");
+        List<Pair<LogicalTable, Set<JoinCondition>>> parents = List.of(
+                Pair.of(mockLogicalTable("DEPT"), Set.of(mockJoinCondition("DEPTNO", "DEPTNO"))),
+                Pair.of(mockLogicalTable("LOC"), Set.of(mockJoinCondition("LOCNO", "LOCNO")))
+        );
+        logicalTable = new LogicalTable.Builder(mockEntityReference)
+                .withFusedJointQuery(parents)
+                .build();
+
+        //Folds unquoted identifiers to lower case like PostgreSQL.
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:fused;DATABASE_TO_LOWER=TRUE");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE EMP (EMPNO INT, DEPTNO INT, LOCNO INT)");
+            statement.execute("CREATE TABLE DEPT (DEPTNO INT)");
+            statement.execute("CREATE TABLE LOC (LOCNO INT)");
+            statement.execute("INSERT INTO EMP VALUES (1, 10, 100), (2, 20, 100), (3, NULL, 200)");
+            statement.execute("INSERT INTO DEPT VALUES (10), (10), (20), (20)");
+            statement.execute("INSERT INTO LOC VALUES (100), (100), (100)");
+            List<String> result = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(logicalTable.getEntityReference().getPayload())) {
+                assertThat(resultSet.getMetaData().getColumnLabel(4), is(equalTo(LogicalTable.joinMarker(0))));
+                assertThat(resultSet.getMetaData().getColumnLabel(5), is(equalTo(LogicalTable.joinMarker(1))));
+                while (resultSet.next()) {
+                    result.add(resultSet.getInt(1) + ":" + resultSet.getString(4) + ":" + resultSet.getString(5));
+                }
+            }
+            assertThat(result, containsInAnyOrder("1:1:1", "2:1:1", "3:null:null"));
+        }
+    }
+
+    @Test
+    public void GivenParentWithoutJoinConditions_WhenBuildWithFusedJointQuery_ThenThrowException() {
+        String expected = "Expected JoinConditions with joint query creation.";
+        List<Pair<LogicalTable, Set<JoinCondition>>> parents = List.of(Pair.of(mock(LogicalTable.class), Set.of()));
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> new LogicalTable.Builder(mockEntityReference).withFusedJointQuery(parents)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    private LogicalTable mockLogicalTable(String payload) {
+        EntityReference mockParentReference = mock(EntityReference.class);
+        when(mockParentReference.getPayload()).thenReturn(payload);
+        return new LogicalTable.Builder(mockParentReference).build();
+    }
+
+    private JoinCondition mockJoinCondition(String parent, String child) {
+        JoinCondition mockJoinCondition = mock(JoinCondition.class);
+        when(mockJoinCondition.getParent()).thenReturn(parent);
+        when(mockJoinCondition.getChild()).thenReturn(child);
+        return mockJoinCondition;
+    }
+}
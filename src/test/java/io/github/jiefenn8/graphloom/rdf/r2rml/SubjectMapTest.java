@@ -74,6 +74,12 @@ public class SubjectMapTest {
         assertThat(result, is(notNullValue()));
     }
 
+    @Test
+    public void GivenEntityWithoutValue_WhenGenerateEntityTerm_ThenReturnNull() {
+        Resource result = subjectMap.generateEntityTerm(mockEntity);
+        assertThat(result, is(nullValue()));
+    }
+
     @Test
     public void GivenEntity_WhenGenerateEntityTermIsLiteral_ThenThrowException() {
         Literal mockLiteral = mock(Literal.class);
@@ -5,6 +5,7 @@
 
 package io.github.jiefenn8.graphloom.rdf.r2rml;
 
+import io.github.jiefenn8.graphloom.api.ReferencedProperties;
 import io.github.jiefenn8.graphloom.api.inputsource.Entity;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
@@ -18,10 +19,12 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -55,4 +58,58 @@ public class TermMapTest {
         RDFNode result = termMap.generateRDFTerm(mockEntity);
         assertThat(result, is(notNullValue()));
     }
+
+    public List<TermMap> columnTermMapParameters() {
+        return List.of(
+                new ColumnTermMap("COLUMN_NAME", TermMap.TermType.UNDEFINED),
+                new TemplateTermMap("{COLUMN_NAME}", TermMap.TermType.UNDEFINED)
+        );
+    }
+
+    @Test
+    @Parameters(method = "columnTermMapParameters")
+    public void GivenJoinWithoutColumn_WhenGenerateRDFTerm_ThenReturnNull(TermMap termMap) {
+        JoinCondition mockJoinCondition = mock(JoinCondition.class);
+        when(mockJoinCondition.getParent()).thenReturn("OTHER_COLUMN");
+        RDFNode result = termMap.generateRDFTerm(Set.of(mockJoinCondition), mockEntity);
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void GivenTermMapNotListingProperties_WhenListReferencedProperties_ThenReturnUnknown() {
+        TermMap termMap = new TermMap() {
+            @Override
+            public RDFNode generateRDFTerm(Entity entity) {
+                return null;
+            }
+
+            @Override
+            public RDFNode generateRDFTerm(Set<JoinCondition> joins, Entity entity) {
+                return null;
+            }
+        };
+        boolean result = ReferencedProperties.isUnknown(termMap.listReferencedProperties());
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void GivenTemplateTermMap_WhenListReferencedProperties_ThenReturnColumns() {
+        TermMap termMap = new TemplateTermMap("http://example.com/{ID}", TermMap.TermType.UNDEFINED);
+        Set<String> result = termMap.listReferencedProperties();
+        assertThat(result, is(Set.of("ID")));
+    }
+
+    @Test
+    public void GivenColumnTermMap_WhenListReferencedProperties_ThenReturnColumn() {
+        TermMap termMap = new ColumnTermMap("COLUMN_NAME", TermMap.TermType.UNDEFINED);
+        Set<String> result = termMap.listReferencedProperties();
+        assertThat(result, is(Set.of("COLUMN_NAME")));
+    }
+
+    @Test
+    public void GivenConstTermMap_WhenListReferencedProperties_ThenReturnEmptySet() {
+        TermMap termMap = new ConstTermMap(mock(RDFNode.class));
+        Set<String> result = termMap.listReferencedProperties();
+        assertThat(result.isEmpty(), is(true));
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link ModelSink}.
+ */
+public class ModelSinkTest {
+
+    private final Resource subject = ResourceFactory.createResource("http://example.com/s");
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/p");
+    private final RDFNode object = ResourceFactory.createStringLiteral("o");
+    private Model model;
+    private ModelSink modelSink;
+
+    @Before
+    public void setUp() {
+        model = ModelFactory.createDefaultModel();
+        modelSink = new ModelSink(model);
+    }
+
+    @Test
+    public void GivenNullModel_WhenCreateCtor_ThenThrowException() {
+        String expected = "Model must not be null.";
+        Throwable throwable = Assert.assertThrows(
+                NullPointerException.class,
+                () -> new ModelSink(null)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenNsPrefixes_WhenStart_ThenSetModelPrefixes() {
+        modelSink.start(Map.of("ex", "http://example.com/"));
+        String result = model.getNsPrefixMap().get("ex");
+        assertThat(result, is(equalTo("http://example.com/")));
+    }
+
+    @Test
+    public void GivenTriple_WhenAccept_ThenAddToModel() {
+        modelSink.accept(subject, predicate, object);
+        modelSink.accept(subject, predicate, object);
+        assertThat(model.size(), is(equalTo(1L)));
+        assertThat(model.contains(subject, predicate, object), is(true));
+        assertThat(modelSink.getModel(), is(sameInstance(model)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link NTriplesSink}.
+ */
+public class NTriplesSinkTest {
+
+    private final Resource subject = ResourceFactory.createResource("http://example.com/s");
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/p");
+    private ByteArrayOutputStream output;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+    }
+
+    private String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void GivenNullChannel_WhenCreateCtor_ThenThrowException() {
+        String expected = "Channel must not be null.";
+        Throwable throwable = Assert.assertThrows(
+                NullPointerException.class,
+                () -> new NTriplesSink(null)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenStagedTriple_WhenAbortAndClose_ThenDiscardTriple() throws IOException {
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output));
+        sink.accept(subject, predicate, ResourceFactory.createResource("http://example.com/o"));
+        sink.abort();
+        sink.close();
+        assertThat(written(), is(equalTo("")));
+    }
+
+    @Test
+    public void GivenIRIObject_WhenAccept_ThenWriteTripleLine() {
+        String expected = "<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n";
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output));
+        sink.accept(subject, predicate, ResourceFactory.createResource("http://example.com/o"));
+        sink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenLiteralObject_WhenAccept_ThenWriteEscapedLiteral() {
+        String expected = "<http://example.com/s> <http://example.com/p> \"a \\\"b\\\"\\nc\" .\n";
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output));
+        sink.accept(subject, predicate, ResourceFactory.createStringLiteral("a \"b\"\nc"));
+        sink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenLangLiteralObject_WhenAccept_ThenWriteLanguageTag() {
+        String expected = "<http://example.com/s> <http://example.com/p> \"chat\"@fr .\n";
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output));
+        sink.accept(subject, predicate, ResourceFactory.createLangLiteral("chat", "fr"));
+        sink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenGraphName_WhenAccept_ThenWriteQuadLine() {
+        String expected = "<http://example.com/s> <http://example.com/p> \"o\" <http://example.com/g> .\n";
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output), "http://example.com/g", 64);
+        sink.accept(subject, predicate, ResourceFactory.createStringLiteral("o"));
+        sink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenSmallBuffer_WhenAcceptMany_ThenWriteAllLines() {
+        String line = "<http://example.com/s> <http://example.com/p> \"o\" .\n";
+        NTriplesSink sink = new NTriplesSink(Channels.newChannel(output), null, 16);
+        for (int i = 0; i < 100; i++) {
+            sink.accept(subject, predicate, ResourceFactory.createStringLiteral("o"));
+        }
+        sink.finish();
+        assertThat(written(), is(equalTo(line.repeat(100))));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.*;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.thrift.BinRDF;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link RDFThriftSink}.
+ */
+public class RDFThriftSinkTest {
+
+    private static final String EX = "http://example.com/ns#";
+    private final Resource subject = ResourceFactory.createResource("http://data.example.com/employee/1");
+    private final Property name = ResourceFactory.createProperty(EX, "name");
+    private final Resource employee = ResourceFactory.createResource(EX + "Employee");
+    private final Literal literal = ResourceFactory.createStringLiteral("SMITH");
+    private ByteArrayOutputStream output;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+    }
+
+    private Model readBack() {
+        Model model = ModelFactory.createDefaultModel();
+        BinRDF.inputStreamToStream(new ByteArrayInputStream(output.toByteArray()), StreamRDFLib.graph(model.getGraph()));
+        return model;
+    }
+
+    @Test
+    public void GivenNullOutputStream_WhenCreateCtor_ThenThrowException() {
+        String expected = "Output stream must not be null.";
+        Throwable throwable = Assert.assertThrows(
+                NullPointerException.class,
+                () -> new RDFThriftSink(null)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenTriples_WhenEncodeAndDecode_ThenReturnSameTriples() throws IOException {
+        try (RDFThriftSink sink = new RDFThriftSink(output)) {
+            sink.start(Map.of("ex", EX));
+            sink.accept(subject, RDF.type, employee);
+            sink.accept(subject, name, literal);
+            sink.finish();
+        }
+
+        Model result = readBack();
+        assertThat(result.size(), is(equalTo(2L)));
+        assertThat(result.contains(subject, RDF.type, employee), is(true));
+        assertThat(result.contains(subject, name, literal), is(true));
+    }
+
+    @Test
+    public void GivenNoTriples_WhenEncodeAndDecode_ThenReturnEmptyGraph() throws IOException {
+        try (RDFThriftSink sink = new RDFThriftSink(output)) {
+            sink.start(Map.of());
+            sink.finish();
+        }
+
+        boolean result = readBack().isEmpty();
+        assertThat(result, is(true));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.api.TripleSink;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ShardedSink}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ShardedSinkTest {
+
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/p");
+    @Mock private TripleSink mockShard0;
+    @Mock private TripleSink mockShard1;
+    private ShardedSink shardedSink;
+
+    @Before
+    public void setUp() {
+        shardedSink = new ShardedSink(List.of(mockShard0, mockShard1));
+    }
+
+    @Test
+    public void GivenNoShards_WhenCreateCtor_ThenThrowException() {
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ShardedSink(List.of())
+        );
+    }
+
+    @Test
+    public void GivenSameSubject_WhenAccept_ThenRouteToSameShard() {
+        Resource subject = ResourceFactory.createResource("http://data.example.com/employee/1");
+        Resource object = ResourceFactory.createResource("http://data.example.com/department/10");
+        TripleSink expected = shardedSink.shardOf(subject) == 0 ? mockShard0 : mockShard1;
+        TripleSink other = expected == mockShard0 ? mockShard1 : mockShard0;
+
+        shardedSink.accept(subject, RDF.type, object);
+        shardedSink.accept(subject, predicate, object);
+        verify(expected).accept(subject, RDF.type, object);
+        verify(expected).accept(subject, predicate, object);
+        verifyNoInteractions(other);
+    }
+
+    @Test
+    public void GivenManySubjects_WhenShardOf_ThenUseEveryShard() {
+        boolean[] used = new boolean[shardedSink.getShardCount()];
+        for (int i = 0; i < 100; i++) {
+            used[shardedSink.shardOf(ResourceFactory.createResource("http://example.com/s/" + i))] = true;
+        }
+        assertThat(used[0] && used[1], is(true));
+    }
+
+    @Test
+    public void GivenShards_WhenStartAndFinish_ThenForwardToAllShards() {
+        shardedSink.start(Map.of());
+        shardedSink.finish();
+        verify(mockShard0).start(Map.of());
+        verify(mockShard1).start(Map.of());
+        verify(mockShard0).finish();
+        verify(mockShard1).finish();
+        assertThat(shardedSink.getShardCount(), is(equalTo(2)));
+    }
+}
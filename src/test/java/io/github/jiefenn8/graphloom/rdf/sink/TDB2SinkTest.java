@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TDB2Sink}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TDB2SinkTest {
+
+    private final Resource subject = ResourceFactory.createResource("http://example.com/s");
+    private final Property predicate = ResourceFactory.createProperty("http://example.com/p");
+    @Mock private Dataset mockDataset;
+    @Mock private DatasetGraph mockDatasetGraph;
+    @Mock private Graph mockGraph;
+    @Mock private Model mockModel;
+
+    @Before
+    public void setUp() {
+        when(mockDataset.asDatasetGraph()).thenReturn(mockDatasetGraph);
+        when(mockDatasetGraph.getDefaultGraph()).thenReturn(mockGraph);
+    }
+
+    @Test
+    public void GivenNoBatchSize_WhenCreateCtor_ThenThrowException() {
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                () -> new TDB2Sink(mockDataset, 0)
+        );
+    }
+
+    @Test
+    public void GivenTriplesOverBatchSize_WhenFinish_ThenCommitEachBatch() {
+        when(mockDataset.getDefaultModel()).thenReturn(mockModel);
+        TDB2Sink tdb2Sink = new TDB2Sink(mockDataset, 2);
+        tdb2Sink.start(Map.of());
+        for (int i = 0; i < 5; i++) {
+            tdb2Sink.accept(subject, predicate, ResourceFactory.createStringLiteral("o" + i));
+        }
+        tdb2Sink.finish();
+
+        verify(mockGraph, times(5)).add(any(Triple.class));
+        verify(mockDataset, times(3)).begin(ReadWrite.WRITE);
+        verify(mockDataset, times(3)).commit();
+        verify(mockDataset, times(3)).end();
+    }
+
+    @Test
+    public void GivenUnfinishedBatch_WhenClose_ThenAbortBatch() {
+        when(mockDataset.getDefaultModel()).thenReturn(mockModel);
+        TDB2Sink tdb2Sink = new TDB2Sink(mockDataset, 10);
+        tdb2Sink.start(Map.of());
+        tdb2Sink.accept(subject, predicate, ResourceFactory.createStringLiteral("o"));
+        tdb2Sink.close();
+
+        verify(mockDataset).abort();
+        verify(mockDataset, never()).commit();
+        verify(mockDataset, never()).close();
+    }
+}
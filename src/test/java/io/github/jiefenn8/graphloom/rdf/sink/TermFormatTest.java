@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import io.github.jiefenn8.graphloom.exceptions.MapperException;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link TermFormat}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class TermFormatTest {
+
+    public List<String> invalidIRIParameters() {
+        return List.of(
+                "http://example.com/a b",
+                "http://example.com/<a>",
+                "http://example.com/\"a\"",
+                "http://example.com/{a}",
+                "http://example.com/a|b",
+                "http://example.com/a^b",
+                "http://example.com/a`b",
+                "http://example.com/a\\b"
+        );
+    }
+
+    @Test
+    public void GivenValidIRI_WhenFormatIRI_ThenEncloseInAngleBrackets() {
+        String result = TermFormat.formatIRI("http://example.com/r\u00E9sum\u00E9?a=1#b");
+        assertThat(result, is(equalTo("<http://example.com/r\u00E9sum\u00E9?a=1#b>")));
+    }
+
+    @Test
+    @Parameters(method = "invalidIRIParameters")
+    public void GivenIRIWithForbiddenCharacter_WhenFormatIRI_ThenThrowException(String iri) {
+        String expected = "IRI <" + iri + "> holds a character not allowed in an IRI.";
+        Throwable throwable = Assert.assertThrows(
+                MapperException.class,
+                () -> TermFormat.formatIRI(iri)
+        );
+        String msg = throwable.getMessage();
+        assertThat(msg, is(equalTo(expected)));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.sink;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link TurtleSink}.
+ */
+public class TurtleSinkTest {
+
+    private static final String EX = "http://example.com/ns#";
+    private final Resource subject = ResourceFactory.createResource("http://data.example.com/employee/1");
+    private final Property name = ResourceFactory.createProperty(EX, "name");
+    private ByteArrayOutputStream output;
+    private TurtleSink turtleSink;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        turtleSink = new TurtleSink(Channels.newChannel(output));
+    }
+
+    private String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void GivenNsPrefixes_WhenStart_ThenWritePrefixDeclarations() {
+        String expected = "@prefix ex: <http://example.com/ns#> .\n\n";
+        turtleSink.start(Map.of("ex", EX));
+        turtleSink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenSameSubject_WhenAccept_ThenGroupPredicates() {
+        String expected = "@prefix ex: <http://example.com/ns#> .\n\n"
+                + "<http://data.example.com/employee/1> a ex:Employee ;\n"
+                + "    ex:name \"SMITH\" , \"JOHN\" .\n";
+        turtleSink.start(Map.of("ex", EX));
+        turtleSink.accept(subject, RDF.type, ResourceFactory.createResource(EX + "Employee"));
+        turtleSink.accept(subject, name, ResourceFactory.createStringLiteral("SMITH"));
+        turtleSink.accept(subject, name, ResourceFactory.createStringLiteral("JOHN"));
+        turtleSink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenDifferentSubjects_WhenAccept_ThenEndEachStatement() {
+        Resource other = ResourceFactory.createResource("http://data.example.com/employee/2");
+        String expected = "<http://data.example.com/employee/1> <http://example.com/ns#name> \"A\" .\n"
+                + "<http://data.example.com/employee/2> <http://example.com/ns#name> \"B\" .\n";
+        turtleSink.start(Map.of());
+        turtleSink.accept(subject, name, ResourceFactory.createStringLiteral("A"));
+        turtleSink.accept(other, name, ResourceFactory.createStringLiteral("B"));
+        turtleSink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+
+    @Test
+    public void GivenInvalidLocalName_WhenAccept_ThenWriteFullIRI() {
+        String expected = "@prefix ex: <http://example.com/ns#> .\n\n"
+                + "<http://data.example.com/employee/1> <http://example.com/ns#has/name> \"A\" .\n";
+        turtleSink.start(Map.of("ex", EX));
+        turtleSink.accept(subject, ResourceFactory.createProperty(EX + "has/name"), ResourceFactory.createStringLiteral("A"));
+        turtleSink.finish();
+        assertThat(written(), is(equalTo(expected)));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.statistics;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link InMemoryEntityCountStore}.
+ */
+public class InMemoryEntityCountStoreTest {
+
+    private final EntityCountStore entityCountStore = new InMemoryEntityCountStore();
+
+    @Test
+    public void GivenNoCount_WhenLoad_ThenReturnNull() {
+        Long result = entityCountStore.load("TriplesMap1@EMP#0");
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void GivenSavedCountTwice_WhenLoad_ThenReturnLastCount() {
+        entityCountStore.save("TriplesMap1@EMP#0", 10);
+        entityCountStore.save("TriplesMap1@EMP#0", 20);
+
+        Long result = entityCountStore.load("TriplesMap1@EMP#0");
+        assertThat(result, is(equalTo(20L)));
+    }
+}
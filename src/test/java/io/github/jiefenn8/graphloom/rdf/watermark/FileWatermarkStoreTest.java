@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.rdf.watermark;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link FileWatermarkStore}.
+ */
+public class FileWatermarkStoreTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void GivenNoFile_WhenLoad_ThenReturnNull() {
+        Path path = temporaryFolder.getRoot().toPath().resolve("watermarks.properties");
+        String result = new FileWatermarkStore(path).load("TriplesMap1");
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void GivenSavedWatermark_WhenLoadFromNewStore_ThenReturnWatermark() {
+        Path path = temporaryFolder.getRoot().toPath().resolve("watermarks.properties");
+        new FileWatermarkStore(path).save("TriplesMap1", "2020-01-01 10:00:00");
+
+        String result = new FileWatermarkStore(path).load("TriplesMap1");
+        assertThat(result, is(equalTo("2020-01-01 10:00:00")));
+    }
+
+    @Test
+    public void GivenManySaves_WhenLoad_ThenReturnLatestWatermarkOfEach() {
+        Path path = temporaryFolder.getRoot().toPath().resolve("watermarks.properties");
+        FileWatermarkStore store = new FileWatermarkStore(path);
+        store.save("TriplesMap1", "10");
+        store.save("TriplesMap2", "7");
+        store.save("TriplesMap1", "20");
+
+        assertThat(store.load("TriplesMap1"), is(equalTo("20")));
+        assertThat(store.load("TriplesMap2"), is(equalTo("7")));
+    }
+}
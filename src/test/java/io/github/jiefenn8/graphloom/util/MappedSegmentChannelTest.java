@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link MappedSegmentChannel}.
+ */
+public class MappedSegmentChannelTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void GivenDataOverManySegments_WhenClose_ThenFileContainsExactData() throws IOException {
+        byte[] expected = "<http://example.com/s> <http://example.com/p> \"o\" .\n"
+                .repeat(500)
+                .getBytes(StandardCharsets.UTF_8);
+        Path path = temporaryFolder.newFile("output.nt").toPath();
+        try (MappedSegmentChannel channel = MappedSegmentChannel.open(path, 4096)) {
+            channel.write(ByteBuffer.wrap(expected, 0, 1000));
+            channel.write(ByteBuffer.wrap(expected, 1000, expected.length - 1000));
+        }
+
+        byte[] result = Files.readAllBytes(path);
+        Assert.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void GivenNoData_WhenClose_ThenFileIsEmpty() throws IOException {
+        Path path = temporaryFolder.newFile("empty.nt").toPath();
+        MappedSegmentChannel.open(path, 4096).close();
+
+        long result = Files.size(path);
+        assertThat(result, is(equalTo(0L)));
+    }
+
+    @Test
+    public void GivenClosedChannel_WhenWrite_ThenThrowException() throws IOException {
+        Path path = temporaryFolder.newFile("closed.nt").toPath();
+        MappedSegmentChannel channel = MappedSegmentChannel.open(path, 4096);
+        channel.close();
+        Assert.assertThrows(
+                ClosedChannelException.class,
+                () -> channel.write(ByteBuffer.allocate(1))
+        );
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 - GraphLoom contributors (github.com/jiefenn8/graphloom)
+ * This software is made available under the terms of Apache License, Version 2.0.
+ */
+
+package io.github.jiefenn8.graphloom.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test class for {@link ParallelGzipOutputStream}.
+ */
+public class ParallelGzipOutputStreamTest {
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzipInputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    public void GivenDataLargerThanBlock_WhenCompress_ThenDecompressToSameData() throws IOException {
+        byte[] expected = "<http://example.com/s> <http://example.com/p> \"o\" .\n"
+                .repeat(1000)
+                .getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzipOutputStream = new ParallelGzipOutputStream(output, 1000, 4)) {
+            gzipOutputStream.write(expected, 0, 123);
+            gzipOutputStream.write(expected[123]);
+            gzipOutputStream.write(expected, 124, expected.length - 124);
+        }
+
+        byte[] result = decompress(output.toByteArray());
+        Assert.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void GivenNoData_WhenClose_ThenWriteValidEmptyGzip() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(output, 1000, 2).close();
+
+        int result = decompress(output.toByteArray()).length;
+        assertThat(result, is(equalTo(0)));
+    }
+
+    @Test
+    public void GivenClosedStream_WhenWrite_ThenThrowException() throws IOException {
+        ParallelGzipOutputStream gzipOutputStream = new ParallelGzipOutputStream(new ByteArrayOutputStream(), 1000, 1);
+        gzipOutputStream.close();
+        Assert.assertThrows(
+                IOException.class,
+                () -> gzipOutputStream.write(1)
+        );
+    }
+
+    @Test
+    public void GivenNoWorkers_WhenCreateCtor_ThenThrowException() {
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ParallelGzipOutputStream(new ByteArrayOutputStream(), 1000, 0)
+        );
+    }
+}